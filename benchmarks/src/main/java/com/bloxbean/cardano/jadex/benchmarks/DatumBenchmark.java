@@ -0,0 +1,71 @@
+package com.bloxbean.cardano.jadex.benchmarks;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.exception.CborDeserializationException;
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.jadex.core.config.DexConfigs;
+import com.bloxbean.cardano.jadex.core.dex.minswap.order.MinOrderDefinitionProvider;
+import com.bloxbean.cardano.jadex.core.dex.minswap.pool.MinPoolDefinition;
+import com.bloxbean.cardano.jadex.core.dex.muesliswap.order.MuesliOrderDefinitionProvider;
+import com.bloxbean.cardano.jadex.core.dex.muesliswap.pool.MuesliPoolDefinition;
+import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding Minswap and Muesliswap pool and order datums from CBOR
+ *
+ * @author $stik
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatumBenchmark {
+    private final MinOrderDefinitionProvider minOrderProvider = new MinOrderDefinitionProvider();
+    private final MuesliOrderDefinitionProvider muesliOrderProvider = new MuesliOrderDefinitionProvider();
+
+    private byte[] minPoolDatum;
+    private byte[] muesliPoolDatum;
+    private byte[] minOrderDatum;
+    private byte[] muesliOrderDatum;
+    private Utxo minOrderUtxo;
+    private Utxo muesliOrderUtxo;
+
+    @Setup
+    public void setup(){
+        minPoolDatum = Fixtures.serialize(Fixtures.minPoolDefinition().toPlutusData());
+        muesliPoolDatum = Fixtures.serialize(Fixtures.muesliPoolDefinition().toPlutusData());
+
+        var minOrder = Fixtures.minOrder(DexConfigs.MIN_CONFIG, true, 100_000_000L, 30_000_000L);
+        minOrderDatum = Fixtures.serialize(minOrderProvider.toDatum(minOrder));
+        minOrderUtxo = Fixtures.orderUtxo(minOrder, 0);
+
+        var muesliOrder = Fixtures.muesliOrder(DexConfigs.MUESLI_V3_CONFIG, true, 100_000_000L, 30_000_000L);
+        muesliOrderDatum = Fixtures.serialize(muesliOrderProvider.toDatum(muesliOrder));
+        muesliOrderUtxo = Fixtures.orderUtxo(muesliOrder, 0);
+    }
+
+    @Benchmark
+    public MinPoolDefinition minPool() throws CborDeserializationException {
+        return MinPoolDefinition.fromPlutusData(PlutusData.deserialize(minPoolDatum));
+    }
+
+    @Benchmark
+    public MuesliPoolDefinition muesliPool() throws CborDeserializationException {
+        return MuesliPoolDefinition.fromPlutusData(PlutusData.deserialize(muesliPoolDatum));
+    }
+
+    @Benchmark
+    public OrderDefinition minOrder() throws CborDeserializationException {
+        return minOrderProvider.fromUtxo(minOrderUtxo, PlutusData.deserialize(minOrderDatum));
+    }
+
+    @Benchmark
+    public OrderDefinition muesliOrder() throws CborDeserializationException {
+        return muesliOrderProvider.fromUtxo(muesliOrderUtxo, PlutusData.deserialize(muesliOrderDatum));
+    }
+}
@@ -0,0 +1,141 @@
+package com.bloxbean.cardano.jadex.benchmarks;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.bloxbean.cardano.jadex.core.config.DexConfig;
+import com.bloxbean.cardano.jadex.core.dex.minswap.order.MinOrderDefinition;
+import com.bloxbean.cardano.jadex.core.dex.minswap.pool.MinPoolDefinition;
+import com.bloxbean.cardano.jadex.core.dex.muesliswap.order.MuesliOrderDefinition;
+import com.bloxbean.cardano.jadex.core.dex.muesliswap.pool.MuesliPoolDefinition;
+import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
+import com.bloxbean.cardano.jadex.core.pool.Pool;
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic, offline fixtures for the benchmarks
+ *
+ * @author $stik
+ */
+@UtilityClass
+public class Fixtures {
+    public static final String TOKEN_POLICY_ID = "29d222ce763455e3d7a09a665ce554f00ac89d2e99a1a83d267170c6";
+    public static final String TOKEN_NAME = "4d494e";
+    public static final String TOKEN = TOKEN_POLICY_ID + TOKEN_NAME;
+    public static final BigDecimal POOL_FEE = new BigDecimal("0.003");
+
+    private static final byte[] PAYMENT_KEY_HASH = HexUtil.decodeHexString("8d3e7c5a4b6a1f0e2d3c4b5a69788796a5b4c3d2e1f0a1b2c3d4e5f6");
+    private static final byte[] STAKE_KEY_HASH = HexUtil.decodeHexString("1f2e3d4c5b6a798897a6b5c4d3e2f1a0b1c2d3e4f5a6b7c8d9e0f1a2");
+    private static final String TX_HASH = "6d2f2b8e3c4a5b6c7d8e9f0a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e";
+
+    /**
+     * @return an ADA/token pool with the given reserves
+     */
+    public static Pool pool(String id, long reserveA, long reserveB){
+        return new Pool(id, CardanoConstants.LOVELACE, TOKEN, BigInteger.valueOf(reserveA), BigInteger.valueOf(reserveB), POOL_FEE);
+    }
+
+    /**
+     * @return ADA/token pools with reserves around 1M ADA and a price spread of a few percent
+     */
+    public static List<Pool> pools(int count){
+        var random = new Random(42);
+        var pools = new ArrayList<Pool>();
+        for(int i = 0; i < count; i++){
+            var reserveA = 1_000_000_000_000L + random.nextInt(1_000_000) * 1_000_000L;
+            var reserveB = reserveA / 3 + random.nextInt(10_000_000) * 1_000L;
+            pools.add(pool("pool" + i, reserveA, reserveB));
+        }
+        return pools;
+    }
+
+    /**
+     * @return a pool UTxO holding the factory asset, pool NFT and ADA/token reserves
+     */
+    public static Utxo poolUtxo(DexConfig config, int index){
+        var poolId = String.format("%064x", index);
+        return utxo(index, "9f0e".repeat(16), List.of(
+                new Amount(CardanoConstants.LOVELACE, BigInteger.valueOf(1_000_000_000_000L + index)),
+                new Amount(TOKEN, BigInteger.valueOf(330_000_000_000L + index)),
+                new Amount(config.poolNftPolicyId() + poolId, BigInteger.ONE),
+                new Amount(config.getPoolAssetId(), BigInteger.ONE)));
+    }
+
+    public static MinPoolDefinition minPoolDefinition(){
+        return new MinPoolDefinition(CardanoConstants.LOVELACE, TOKEN, BigInteger.valueOf(577_000_000_000L), BigInteger.valueOf(577_000_000_000L));
+    }
+
+    public static MuesliPoolDefinition muesliPoolDefinition(){
+        return new MuesliPoolDefinition(CardanoConstants.LOVELACE, TOKEN, BigInteger.valueOf(577_000_000_000L), BigInteger.valueOf(30));
+    }
+
+    /**
+     * @param buy true for an ADA to token order, false for a token to ADA order
+     */
+    public static MinOrderDefinition minOrder(DexConfig config, boolean buy, long amountIn, long minimumAmountOut){
+        return new MinOrderDefinition(buy ? null : TOKEN_POLICY_ID,
+                buy ? CardanoConstants.LOVELACE : TOKEN_NAME,
+                BigInteger.valueOf(amountIn),
+                buy ? TOKEN_POLICY_ID : null,
+                buy ? TOKEN_NAME : CardanoConstants.LOVELACE,
+                BigInteger.valueOf(minimumAmountOut),
+                STAKE_KEY_HASH,
+                PAYMENT_KEY_HASH,
+                config.outputLovelace(),
+                config.swapFee(),
+                false);
+    }
+
+    public static MuesliOrderDefinition muesliOrder(DexConfig config, boolean buy, long amountIn, long minimumAmountOut){
+        return new MuesliOrderDefinition(buy ? null : TOKEN_POLICY_ID,
+                buy ? CardanoConstants.LOVELACE : TOKEN_NAME,
+                BigInteger.valueOf(amountIn),
+                buy ? TOKEN_POLICY_ID : null,
+                buy ? TOKEN_NAME : CardanoConstants.LOVELACE,
+                BigInteger.valueOf(minimumAmountOut),
+                STAKE_KEY_HASH,
+                PAYMENT_KEY_HASH,
+                config.outputLovelace(),
+                config.swapFee(),
+                true);
+    }
+
+    /**
+     * @return the order UTxO sent to the order address for the given order
+     */
+    public static Utxo orderUtxo(OrderDefinition order, int index){
+        var lovelace = order.getReturnLovelace().add(order.getSwapFee());
+        var amounts = new ArrayList<Amount>();
+        if(CardanoConstants.LOVELACE.equals(order.getAssetInTokenName())){
+            amounts.add(new Amount(CardanoConstants.LOVELACE, lovelace.add(order.getAmountIn())));
+        }else{
+            amounts.add(new Amount(CardanoConstants.LOVELACE, lovelace));
+            amounts.add(new Amount(order.getAssetInPolicyId() + order.getAssetInTokenName(), order.getAmountIn()));
+        }
+        return utxo(index, "5a1c".repeat(16), amounts);
+    }
+
+    /**
+     * @return the CBOR bytes of the datum
+     */
+    public static byte[] serialize(PlutusData datum){
+        return HexUtil.decodeHexString(datum.serializeToHex());
+    }
+
+    private static Utxo utxo(int index, String dataHash, List<Amount> amounts){
+        return Utxo.builder()
+                .txHash(TX_HASH)
+                .outputIndex(index)
+                .amount(amounts)
+                .dataHash(dataHash)
+                .build();
+    }
+}
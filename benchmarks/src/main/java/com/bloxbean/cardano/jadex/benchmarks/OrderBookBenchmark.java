@@ -0,0 +1,49 @@
+package com.bloxbean.cardano.jadex.benchmarks;
+
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.jadex.core.config.DexConfigs;
+import com.bloxbean.cardano.jadex.core.order.book.OrderBook;
+import com.bloxbean.cardano.jadex.core.order.book.UtxoOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an order book (pricing and sorting) from resolved orders
+ *
+ * @author $stik
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+    private final List<UtxoOrder> buyOrders = new ArrayList<>();
+    private final List<UtxoOrder> sellOrders = new ArrayList<>();
+
+    @Param({"100", "1000"})
+    public int orderCount;
+
+    @Setup
+    public void setup(){
+        var config = DexConfigs.MIN_CONFIG;
+        var random = new Random(42);
+        for(int i = 0; i < orderCount; i++){
+            var amountIn = 10_000_000L + random.nextInt(1_000_000_000);
+            var buy = Fixtures.minOrder(config, true, amountIn, amountIn / 3 + random.nextInt(1_000_000));
+            buyOrders.add(new UtxoOrder(Fixtures.orderUtxo(buy, i), buy));
+            var sell = Fixtures.minOrder(config, false, amountIn, amountIn * 3 + random.nextInt(1_000_000));
+            sellOrders.add(new UtxoOrder(Fixtures.orderUtxo(sell, i), sell));
+        }
+    }
+
+    @Benchmark
+    public OrderBook build(){
+        return new OrderBook(null, CardanoConstants.LOVELACE, Fixtures.TOKEN_POLICY_ID, Fixtures.TOKEN_NAME, buyOrders, sellOrders, 6, 6);
+    }
+}
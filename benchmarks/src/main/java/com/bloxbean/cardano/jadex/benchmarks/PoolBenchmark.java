@@ -0,0 +1,61 @@
+package com.bloxbean.cardano.jadex.benchmarks;
+
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.client.util.Tuple;
+import com.bloxbean.cardano.jadex.core.pool.Pool;
+import com.bloxbean.cardano.jadex.core.pool.SwapAmount;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Constant product quotes of a single pool, for both the BigInteger and the long fast path
+ *
+ * @author $stik
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolBenchmark {
+    private Pool pool;
+    private BigInteger amount;
+
+    @Param({"1000000", "100000000000"})
+    public long amountIn;
+
+    @Setup
+    public void setup(){
+        pool = Fixtures.pool("pool", 1_000_000_000_000L, 330_000_000_000L);
+        amount = BigInteger.valueOf(amountIn);
+    }
+
+    @Benchmark
+    public SwapAmount getAmountOut(){
+        return pool.getAmountOut(CardanoConstants.LOVELACE, amount);
+    }
+
+    @Benchmark
+    public long getAmountOutLong(){
+        return pool.getAmountOut(CardanoConstants.LOVELACE, amountIn);
+    }
+
+    @Benchmark
+    public SwapAmount getAmountIn(){
+        return pool.getAmountIn(Fixtures.TOKEN, amount);
+    }
+
+    @Benchmark
+    public long getAmountInLong(){
+        return pool.getAmountIn(Fixtures.TOKEN, amountIn);
+    }
+
+    @Benchmark
+    public Tuple<BigDecimal, BigDecimal> getPrice(){
+        return pool.getPrice(6, 6);
+    }
+}
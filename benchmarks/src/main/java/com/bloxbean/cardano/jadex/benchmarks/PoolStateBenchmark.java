@@ -0,0 +1,36 @@
+package com.bloxbean.cardano.jadex.benchmarks;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.jadex.core.config.DexConfig;
+import com.bloxbean.cardano.jadex.core.config.DexConfigs;
+import com.bloxbean.cardano.jadex.core.pool.DefaultPoolStateProvider;
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting a raw pool UTxO into a {@link PoolState PoolState}
+ *
+ * @author $stik
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolStateBenchmark {
+    private final DexConfig config = DexConfigs.MIN_CONFIG;
+    private Utxo utxo;
+
+    @Setup
+    public void setup(){
+        utxo = Fixtures.poolUtxo(config, 1);
+    }
+
+    @Benchmark
+    public PoolState fromUtxo(){
+        return DefaultPoolStateProvider.fromUtxo(utxo, config);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bloxbean.cardano.jadex.benchmarks;
+
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.jadex.core.pool.Pool;
+import com.bloxbean.cardano.jadex.core.util.OrderUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting a swap over multiple pools of the same asset pair
+ *
+ * @author $stik
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitBenchmark {
+    private static final BigDecimal SLIPPAGE = new BigDecimal("0.05");
+
+    private List<Pool> pools;
+
+    @Param({"2", "8"})
+    public int poolCount;
+
+    @Param({"1000000000", "50000000000"})
+    public long amountIn;
+
+    @Setup
+    public void setup(){
+        pools = Fixtures.pools(poolCount);
+    }
+
+    @Benchmark
+    public List<OrderUtil.AmountInPerPool> smartSplit(){
+        return OrderUtil.smartSplit(CardanoConstants.LOVELACE, BigInteger.valueOf(amountIn), pools, SLIPPAGE, 6, 6);
+    }
+
+    @Benchmark
+    public List<OrderUtil.AmountInPerPool> analyticSplit(){
+        return OrderUtil.analyticSplit(CardanoConstants.LOVELACE, BigInteger.valueOf(amountIn), pools, SLIPPAGE);
+    }
+}
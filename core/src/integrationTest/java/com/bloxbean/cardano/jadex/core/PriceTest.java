@@ -4,6 +4,7 @@ import com.bloxbean.cardano.client.common.CardanoConstants;
 import com.bloxbean.cardano.jadex.core.arguments.AssetPairArgumentsProvider;
 import com.bloxbean.cardano.jadex.core.config.DexConfig;
 import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
+import com.bloxbean.cardano.jadex.core.pool.AssetPair;
 import com.bloxbean.cardano.jadex.core.util.BigIntegerUtil;
 import com.bloxbean.cardano.jadex.core.util.OrderUtil;
 import com.bloxbean.cardano.jadex.core.util.TokenUtil;
@@ -15,6 +16,7 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.util.List;
 
 @Slf4j
 public class PriceTest extends JadexBaseTest{
@@ -93,6 +95,20 @@ public class PriceTest extends JadexBaseTest{
         Assertions.assertEquals(new BigDecimal("0.33"), swapAmountOutAHalfPool.priceImpact().setScale(2, RoundingMode.DOWN));
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(AssetPairArgumentsProvider.class)
+    void testGetPrices(String assetA, String assetB, DexConfig dexConfig, Dex dex){
+        var pair = AssetPair.of(assetA, assetB);
+        var missing = new AssetPair(assetA, assetA);
+
+        var prices = dex.getPrices(List.of(pair, missing));
+
+        var price = dex.getPrice(TokenUtil.getPolicyId(assetA), TokenUtil.getTokenName(assetA), TokenUtil.getPolicyId(assetB), TokenUtil.getTokenName(assetB));
+        Assertions.assertEquals(1, prices.size());
+        Assertions.assertEquals(price._1, prices.get(pair)._1);
+        Assertions.assertEquals(price._2, prices.get(pair)._2);
+    }
+
     @ParameterizedTest
     @ArgumentsSource(AssetPairArgumentsProvider.class)
     void testPoolPriceIn(String assetA, String assetB, DexConfig dexConfig, Dex dex){
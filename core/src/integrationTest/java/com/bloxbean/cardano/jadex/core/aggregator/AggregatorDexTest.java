@@ -0,0 +1,50 @@
+package com.bloxbean.cardano.jadex.core.aggregator;
+
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import com.bloxbean.cardano.jadex.core.pool.TestPoolStates;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class AggregatorDexTest {
+    private static final String TOKEN = "29d222ce763455e3d7a09a665ce554f00ac89d2e99a1a83d267170c6" + "4d494e";
+
+    private final Map<String, PoolState> pools = new LinkedHashMap<>(Map.of(
+            "MINSWAP", pool(1, 1_000_000_000_000L, 330_000_000_000L),
+            "MUESLISWAP", pool(2, 100_000_000_000L, 33_500_000_000L)));
+
+    @Test
+    void testSmallAmountUsesBestVenue(){
+        var plan = AggregatorDex.plan(CardanoConstants.LOVELACE, TOKEN, BigInteger.valueOf(10_000_000), pools);
+
+        Assertions.assertFalse(plan.isSplit());
+        Assertions.assertEquals("MUESLISWAP", plan.orders().get(0).venue());
+        Assertions.assertEquals(plan.amountOut(), plan.orders().get(0).amountOut());
+    }
+
+    @Test
+    void testLargeAmountIsSplitOverVenues(){
+        var amountIn = BigInteger.valueOf(100_000_000_000L);
+        var plan = AggregatorDex.plan(CardanoConstants.LOVELACE, TOKEN, amountIn, pools);
+
+        Assertions.assertTrue(plan.isSplit());
+        Assertions.assertEquals("MINSWAP", plan.orders().get(0).venue());
+        Assertions.assertEquals(amountIn, plan.orders().stream().map(VenueOrder::amountIn).reduce(BigInteger.ZERO, BigInteger::add));
+        for(var pool : pools.values()){
+            Assertions.assertTrue(plan.amountOut().compareTo(pool.getAmountOut(CardanoConstants.LOVELACE, amountIn).amount()) > 0);
+        }
+    }
+
+    @Test
+    void testNoPools(){
+        Assertions.assertNull(AggregatorDex.plan(CardanoConstants.LOVELACE, TOKEN, BigInteger.ONE, Map.of()));
+    }
+
+    private static PoolState pool(int index, long reserveA, long reserveB){
+        return TestPoolStates.pool(index, CardanoConstants.LOVELACE, TOKEN, reserveA, reserveB);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bloxbean.cardano.jadex.core.asset;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.OptionalInt;
+
+class AssetDecimalsRegistryTest {
+    @Test
+    void testSnapshot(@TempDir Path directory){
+        var snapshot = directory.resolve("decimals.properties");
+        var registry = new AssetDecimalsRegistry(null);
+        registry.put("asset1", OptionalInt.of(8));
+        registry.put("asset2", OptionalInt.empty());
+        registry.save(snapshot);
+
+        var loaded = new AssetDecimalsRegistry(null);
+        Assertions.assertEquals(2, loaded.load(snapshot));
+        Assertions.assertTrue(loaded.contains("asset2"));
+        // served from the registry, no backend available
+        Assertions.assertEquals(OptionalInt.of(8), loaded.getDecimals("asset1"));
+        Assertions.assertEquals(OptionalInt.empty(), loaded.getDecimals("asset2"));
+        Assertions.assertEquals(OptionalInt.of(6), loaded.getDecimals("lovelace"));
+    }
+}
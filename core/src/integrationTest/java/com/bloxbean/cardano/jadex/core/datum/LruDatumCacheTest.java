@@ -0,0 +1,39 @@
+package com.bloxbean.cardano.jadex.core.datum;
+
+import com.bloxbean.cardano.client.plutus.spec.BigIntPlutusData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+class LruDatumCacheTest {
+    @Test
+    void testEviction(){
+        var cache = new LruDatumCache(2);
+        cache.put("01", BigIntPlutusData.of(1));
+        cache.put("02", BigIntPlutusData.of(2));
+        Assertions.assertNotNull(cache.get("01"));
+        cache.put("03", BigIntPlutusData.of(3));
+
+        // "02" is the least recently used
+        Assertions.assertNull(cache.get("02"));
+        Assertions.assertEquals(BigIntPlutusData.of(1), cache.get("01"));
+        Assertions.assertEquals(BigIntPlutusData.of(3), cache.get("03"));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(3, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testDiskCache(@TempDir Path directory){
+        var cache = new LruDatumCache(1, directory);
+        cache.put("01", BigIntPlutusData.of(1));
+        cache.put("02", BigIntPlutusData.of(2));
+
+        // evicted from memory, restored from disk
+        Assertions.assertEquals(BigIntPlutusData.of(1), cache.get("01"));
+        Assertions.assertEquals(BigIntPlutusData.of(2), new LruDatumCache(1, directory).get("02"));
+        Assertions.assertEquals(0, cache.getMisses());
+    }
+}
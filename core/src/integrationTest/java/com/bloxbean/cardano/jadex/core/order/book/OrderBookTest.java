@@ -0,0 +1,116 @@
+package com.bloxbean.cardano.jadex.core.order.book;
+
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
+import com.bloxbean.cardano.jadex.core.pool.AssetPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+class OrderBookTest {
+    private static final String POLICY_A = "a".repeat(56);
+    private static final String POLICY_B = "b".repeat(56);
+    private static final String TOKEN = "746f6b656e";
+    private static final byte[] PAYMENT_KEY_HASH_1 = new byte[28];
+    private static final byte[] PAYMENT_KEY_HASH_2 = new byte[28];
+    private static final byte[] STAKE_KEY_HASH = new byte[28];
+
+    static {
+        PAYMENT_KEY_HASH_1[0] = 1;
+        PAYMENT_KEY_HASH_2[0] = 2;
+        STAKE_KEY_HASH[0] = 3;
+    }
+
+    @Test
+    void testIndexGroupsOrdersByPair(){
+        var orders = List.of(
+                order("tx1", null, CardanoConstants.LOVELACE, 10_000_000, POLICY_A, TOKEN, 5_000_000),
+                order("tx2", POLICY_A, TOKEN, 5_000_000, null, CardanoConstants.LOVELACE, 11_000_000),
+                order("tx3", null, CardanoConstants.LOVELACE, 10_000_000, POLICY_B, TOKEN, 1_000_000),
+                new UtxoOrder(Utxo.builder().txHash("tx4").outputIndex(0).build(), null));
+
+        var index = OrderBook.index(orders, unit -> 6);
+
+        Assertions.assertEquals(2, index.size());
+        var bookA = index.get(AssetPair.of(CardanoConstants.LOVELACE, POLICY_A + TOKEN));
+        Assertions.assertEquals(1, bookA.getBuyOrder().size());
+        Assertions.assertEquals(1, bookA.getSellOrder().size());
+        Assertions.assertEquals("tx1", bookA.getBuyOrder().get(0)._1.utxo().getTxHash());
+        Assertions.assertEquals("tx2", bookA.getSellOrder().get(0)._1.utxo().getTxHash());
+        var bookB = index.get(AssetPair.of(POLICY_B + TOKEN, CardanoConstants.LOVELACE));
+        Assertions.assertEquals(1, bookB.getBuyOrder().size());
+        Assertions.assertTrue(bookB.getSellOrder().isEmpty());
+    }
+
+    @Test
+    void testPriceLevels(){
+        var orderBook = OrderBook.of(null, CardanoConstants.LOVELACE, POLICY_A, TOKEN, List.of(
+                order("tx1", null, CardanoConstants.LOVELACE, 10_000_000, POLICY_A, TOKEN, 5_000_000),
+                order("tx2", null, CardanoConstants.LOVELACE, 4_000_000, POLICY_A, TOKEN, 2_000_000),
+                order("tx3", null, CardanoConstants.LOVELACE, 3_000_000, POLICY_A, TOKEN, 3_000_000)), 6, 6);
+
+        Assertions.assertEquals(2, orderBook.getBidLevels().size());
+        var bestBid = orderBook.getBestBid().orElseThrow();
+        Assertions.assertEquals(0, BigDecimal.valueOf(2).compareTo(bestBid.price()));
+        Assertions.assertEquals(BigInteger.valueOf(14_000_000), bestBid.amountIn());
+        Assertions.assertEquals(2, bestBid.orderCount());
+        Assertions.assertEquals(BigInteger.valueOf(14_000_000), orderBook.getBidDepth(new BigDecimal("1.5")).amountIn());
+        Assertions.assertEquals(BigInteger.valueOf(17_000_000), orderBook.getBidDepth(BigDecimal.ONE).amountIn());
+        Assertions.assertEquals(BigInteger.valueOf(17_000_000), orderBook.getBidVolume(5).amountIn());
+        Assertions.assertTrue(orderBook.getBestAsk().isEmpty());
+
+        Assertions.assertTrue(orderBook.removeOrder("tx1", 0));
+        Assertions.assertEquals(BigInteger.valueOf(4_000_000), orderBook.getBestBid().orElseThrow().amountIn());
+        Assertions.assertEquals(2, orderBook.getBuyOrder().size());
+
+        Assertions.assertTrue(orderBook.addOrder(order("tx4", POLICY_A, TOKEN, 1_000_000, null, CardanoConstants.LOVELACE, 2_000_000)));
+        Assertions.assertFalse(orderBook.addOrder(order("tx5", null, CardanoConstants.LOVELACE, 1_000_000, POLICY_B, TOKEN, 2_000_000)));
+        Assertions.assertEquals(BigInteger.valueOf(1_000_000), orderBook.getBestAsk().orElseThrow().amountIn());
+        Assertions.assertEquals("tx4", orderBook.getSellOrder().get(0)._1.utxo().getTxHash());
+    }
+
+    @Test
+    void testOrdersBySender(){
+        var orderBook = OrderBook.of(null, CardanoConstants.LOVELACE, POLICY_A, TOKEN, List.of(
+                order("tx1", null, CardanoConstants.LOVELACE, 10_000_000, POLICY_A, TOKEN, 5_000_000, PAYMENT_KEY_HASH_1),
+                order("tx2", null, CardanoConstants.LOVELACE, 3_000_000, POLICY_A, TOKEN, 1_000_000, PAYMENT_KEY_HASH_2),
+                order("tx3", null, CardanoConstants.LOVELACE, 4_000_000, POLICY_A, TOKEN, 1_000_000, PAYMENT_KEY_HASH_1)), 6, 6);
+        var sender = AddressProvider.getBaseAddress(Credential.fromKey(PAYMENT_KEY_HASH_1), Credential.fromKey(STAKE_KEY_HASH), Networks.testnet()).getAddress();
+
+        var buyOrders = orderBook.getBuyOrders(sender);
+
+        Assertions.assertEquals(List.of("tx3", "tx1"), buyOrders.stream().map(it -> it._1.utxo().getTxHash()).toList());
+        Assertions.assertEquals(3, orderBook.getBuyOrders("").size());
+        Assertions.assertTrue(orderBook.getSellOrders(sender).isEmpty());
+        Assertions.assertTrue(orderBook.getBuyOrders("not an address").isEmpty());
+        Assertions.assertTrue(orderBook.getBuyOrders("Ae2tdPwUPEZFRbyhz3cpfC2CumGzNkFBN2L42rcUc2yjQpEkxDbkPodpMAi").isEmpty());
+
+        orderBook.removeOrder("tx3", 0);
+        Assertions.assertEquals(1, orderBook.getBuyOrders(sender).size());
+    }
+
+    static UtxoOrder order(String txHash, String inPolicyId, String inTokenName, long amountIn, String outPolicyId, String outTokenName, long minimumAmountOut){
+        return order(txHash, inPolicyId, inTokenName, amountIn, outPolicyId, outTokenName, minimumAmountOut, PAYMENT_KEY_HASH_1);
+    }
+
+    static UtxoOrder order(String txHash, String inPolicyId, String inTokenName, long amountIn, String outPolicyId, String outTokenName, long minimumAmountOut, byte[] paymentKeyHash){
+        var definition = OrderDefinition.builder()
+                .assetInPolicyId(inPolicyId)
+                .assetInTokenName(inTokenName)
+                .amountIn(BigInteger.valueOf(amountIn))
+                .assetOutPolicyId(outPolicyId)
+                .assetOutTokenName(outTokenName)
+                .minimumAmountOut(BigInteger.valueOf(minimumAmountOut))
+                .paymentKeyHash(paymentKeyHash)
+                .stakeKeyHash(STAKE_KEY_HASH)
+                .build();
+        return new UtxoOrder(Utxo.builder().txHash(txHash).outputIndex(0).build(), definition);
+    }
+}
@@ -0,0 +1,81 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+class PoolAmountTest {
+    private static final BigInteger POOL_FEE_MULTIPLIER = BigInteger.valueOf(10000);
+    private static final String[] POOL_FEES = {"0", "0.003", "0.0035", "0.005", "0.01", "0.00005", "1"};
+
+    @Test
+    void testAmountOutMatchesBigIntegerCalculation(){
+        var random = new Random(42);
+        for(int i = 0; i < 100_000; i++){
+            var pool = randomPool(random);
+            var amountIn = random.nextInt(4) == 0 ? BigInteger.valueOf(random.nextInt(1000) + 1) : randomAmount(random);
+            var expected = amountOut(pool.getReserveA(), pool.getReserveB(), amountIn, pool.poolFeeModifier());
+
+            Assertions.assertEquals(expected, pool.getAmountOut("AssetA", amountIn), pool + " - " + amountIn);
+            Assertions.assertEquals(expected.amount().longValueExact(), pool.getAmountOut("AssetA", amountIn.longValue()));
+        }
+    }
+
+    @Test
+    void testAmountInMatchesBigIntegerCalculation(){
+        var random = new Random(42);
+        for(int i = 0; i < 100_000; i++){
+            var pool = randomPool(random);
+            var amountOut = pool.getReserveA().divide(BigInteger.valueOf(random.nextInt(100) + 2)).max(BigInteger.ONE);
+            if(amountOut.compareTo(pool.getReserveA()) >= 0 || pool.poolFeeModifier().signum() <= 0){
+                continue;
+            }
+            var expected = amountIn(pool.getReserveB(), pool.getReserveA(), amountOut, pool.poolFeeModifier());
+
+            Assertions.assertEquals(expected, pool.getAmountIn("AssetA", amountOut), pool + " - " + amountOut);
+        }
+    }
+
+    @Test
+    void testLargeReservesFallBackToBigInteger(){
+        var reserve = BigInteger.TWO.pow(80);
+        var pool = new Pool("pool", "AssetA", "AssetB", reserve, reserve, new BigDecimal("0.003"));
+        var amountIn = BigInteger.valueOf(1_000_000);
+
+        Assertions.assertEquals(amountOut(reserve, reserve, amountIn, pool.poolFeeModifier()), pool.getAmountOut("AssetA", amountIn));
+    }
+
+    private static Pool randomPool(Random random){
+        return new Pool("pool", "AssetA", "AssetB", randomAmount(random), randomAmount(random), new BigDecimal(POOL_FEES[random.nextInt(POOL_FEES.length)]));
+    }
+
+    private static BigInteger randomAmount(Random random){
+        var bits = 1 + random.nextInt(63);
+        return BigInteger.valueOf(Math.max(1, random.nextLong() >>> (64 - bits)));
+    }
+
+    // reference calculations, as implemented before the long fast path
+    private static SwapAmount amountOut(BigInteger reserveIn, BigInteger reserveOut, BigInteger amountIn, BigInteger poolFeeModifier){
+        var amtOutNumerator = amountIn.multiply(poolFeeModifier).multiply(reserveOut);
+        var amtOutDenominator = (amountIn.multiply(poolFeeModifier)).add(reserveIn.multiply(POOL_FEE_MULTIPLIER));
+        var priceImpactNumerator = (reserveOut.multiply(amountIn).multiply(amtOutDenominator).multiply(poolFeeModifier))
+                .subtract(amtOutNumerator.multiply(reserveIn).multiply(POOL_FEE_MULTIPLIER));
+        var priceImpactDenominator = reserveOut.multiply(amountIn).multiply(amtOutDenominator).multiply(POOL_FEE_MULTIPLIER);
+        return new SwapAmount(amtOutNumerator.divide(amtOutDenominator),
+                new BigDecimal(priceImpactNumerator).divide(new BigDecimal(priceImpactDenominator), 4, RoundingMode.HALF_DOWN));
+    }
+
+    private static SwapAmount amountIn(BigInteger reserveIn, BigInteger reserveOut, BigInteger exactAmountOut, BigInteger poolFeeModifier){
+        var amtInNumerator = reserveIn.multiply(exactAmountOut).multiply(POOL_FEE_MULTIPLIER);
+        var amtInDenominator = (reserveOut.subtract(exactAmountOut)).multiply(poolFeeModifier);
+        var priceImpactNumerator = (reserveOut.multiply(amtInNumerator).multiply(poolFeeModifier))
+                .subtract(exactAmountOut.multiply(amtInDenominator).multiply(reserveIn).multiply(POOL_FEE_MULTIPLIER));
+        var priceImpactDenominator = reserveOut.multiply(amtInNumerator).multiply(POOL_FEE_MULTIPLIER);
+        return new SwapAmount(amtInNumerator.divide(amtInDenominator).add(BigInteger.ONE),
+                new BigDecimal(priceImpactNumerator).divide(new BigDecimal(priceImpactDenominator), 4, RoundingMode.HALF_DOWN));
+    }
+}
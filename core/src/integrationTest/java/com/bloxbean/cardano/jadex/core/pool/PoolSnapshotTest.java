@@ -0,0 +1,37 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+class PoolSnapshotTest {
+
+    @Test
+    void testSimulateSwapReturnsNewState(){
+        var pool = new Pool("pool", "AssetA", "AssetB", BigInteger.valueOf(1_000_000), BigInteger.valueOf(2_000_000), new BigDecimal("0.003"));
+        var snapshot = pool.snapshot();
+        var amountIn = BigInteger.valueOf(10_000);
+
+        var simulation = snapshot.simulateSwap("AssetA", amountIn);
+
+        Assertions.assertEquals(pool.getAmountOut("AssetA", amountIn), new SwapAmount(simulation.amountOut(), simulation.priceImpact()));
+        Assertions.assertEquals(BigInteger.valueOf(1_010_000), simulation.pool().getReserveA());
+        Assertions.assertEquals(BigInteger.valueOf(2_000_000).subtract(simulation.amountOut()), simulation.pool().getReserveB());
+        // neither the snapshot nor the pool change
+        Assertions.assertEquals(BigInteger.valueOf(1_000_000), snapshot.getReserveA());
+        Assertions.assertEquals(BigInteger.valueOf(1_000_000), pool.getReserveA());
+    }
+
+    @Test
+    void testSnapshotIsIndependentOfPool(){
+        var pool = new Pool("pool", "AssetA", "AssetB", BigInteger.valueOf(1_000_000), BigInteger.valueOf(2_000_000), new BigDecimal("0.003"));
+        var snapshot = pool.snapshot();
+
+        pool.addA();
+
+        Assertions.assertEquals(BigInteger.valueOf(1_000_000), snapshot.getReserveA());
+        Assertions.assertEquals(BigInteger.valueOf(2_000_000), snapshot.getReserveB());
+    }
+}
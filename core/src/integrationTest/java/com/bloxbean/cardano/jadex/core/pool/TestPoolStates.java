@@ -0,0 +1,57 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.jadex.core.config.DexConfigs;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Offline {@link PoolState PoolState} fixtures, using the Minswap config
+ */
+public class TestPoolStates {
+    public static final String TX_HASH = "6d2f2b8e3c4a5b6c7d8e9f0a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e";
+
+    /**
+     * @param index the pool number, used as output index and as pool ID (64 hex digits)
+     * @return a pool in output `index` of {@link #TX_HASH TX_HASH}
+     */
+    public static PoolState pool(int index, String assetA, String assetB, long reserveA, long reserveB){
+        return pool(TX_HASH, index, index, assetA, assetB, reserveA, reserveB);
+    }
+
+    /**
+     * @param txHash the transaction of the pool output
+     * @param outputIndex the output index of the pool output
+     * @param index the pool number, used as pool ID (64 hex digits)
+     * @return a pool in the given output
+     */
+    public static PoolState pool(String txHash, int outputIndex, int index, String assetA, String assetB, long reserveA, long reserveB){
+        var config = DexConfigs.MIN_CONFIG;
+        return new PoolState(txHash,
+                outputIndex,
+                List.of(new Amount(assetA, BigInteger.valueOf(reserveA)),
+                        new Amount(assetB, BigInteger.valueOf(reserveB)),
+                        new Amount(nft(index), BigInteger.ONE)),
+                null,
+                assetA,
+                assetB,
+                config);
+    }
+
+    /**
+     * @param index the pool number
+     * @return the unit of the pool NFT
+     */
+    public static String nft(int index){
+        return DexConfigs.MIN_CONFIG.poolNftPolicyId() + poolId(index);
+    }
+
+    /**
+     * @param index the pool number
+     * @return the pool ID
+     */
+    public static String poolId(int index){
+        return String.format("%064x", index);
+    }
+}
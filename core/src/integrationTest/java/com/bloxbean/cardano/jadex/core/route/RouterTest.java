@@ -0,0 +1,52 @@
+package com.bloxbean.cardano.jadex.core.route;
+
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.jadex.core.pool.TestPoolStates;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+class RouterTest {
+    private static final String TOKEN_A = "29d222ce763455e3d7a09a665ce554f00ac89d2e99a1a83d267170c6" + "4141";
+    private static final String TOKEN_B = "29d222ce763455e3d7a09a665ce554f00ac89d2e99a1a83d267170c6" + "4242";
+    private static final String TOKEN_C = "29d222ce763455e3d7a09a665ce554f00ac89d2e99a1a83d267170c6" + "4343";
+
+    private final Router router = new Router(List.of(
+            TestPoolStates.pool(1, CardanoConstants.LOVELACE, TOKEN_A, 1_000_000_000_000L, 1_000_000_000_000L),
+            TestPoolStates.pool(2, CardanoConstants.LOVELACE, TOKEN_B, 1_000_000_000_000L, 1_000_000_000_000L),
+            TestPoolStates.pool(3, TOKEN_A, TOKEN_B, 100_000_000L, 100_000_000L),
+            TestPoolStates.pool(4, TOKEN_B, TOKEN_C, 1_000_000_000_000L, 1_000_000_000_000L)));
+
+    @Test
+    void testSmallAmountUsesDirectPool(){
+        var route = router.getBestRoute(TOKEN_A, TOKEN_B, BigInteger.valueOf(100_000)).orElseThrow();
+
+        Assertions.assertEquals(1, route.hopCount());
+        Assertions.assertEquals("03", route.hops().get(0).pool().id().substring(62));
+    }
+
+    @Test
+    void testLargeAmountRoutesThroughAda(){
+        var amountIn = BigInteger.valueOf(1_000_000_000);
+        var route = router.getBestRoute(TOKEN_A, TOKEN_B, amountIn).orElseThrow();
+
+        Assertions.assertEquals(2, route.hopCount());
+        Assertions.assertEquals(CardanoConstants.LOVELACE, route.hops().get(0).assetOut());
+        Assertions.assertEquals(route.hops().get(0).amountOut(), route.hops().get(1).amountIn());
+        Assertions.assertEquals(route.amountOut(), route.hops().get(1).amountOut());
+        Assertions.assertTrue(route.amountOut().compareTo(router.getBestRoute(TOKEN_A, TOKEN_B, amountIn, 1).orElseThrow().amountOut()) > 0);
+    }
+
+    @Test
+    void testThreeHopRoute(){
+        var routes = router.getRoutes(TOKEN_A, TOKEN_C, BigInteger.valueOf(1_000_000_000), Router.MAX_HOPS);
+
+        Assertions.assertEquals(2, routes.size());
+        Assertions.assertEquals(3, routes.get(0).hopCount());
+        Assertions.assertEquals(List.of(CardanoConstants.LOVELACE, TOKEN_B, TOKEN_C), routes.get(0).hops().stream().map(Hop::assetOut).toList());
+        Assertions.assertEquals(2, routes.get(1).hopCount());
+        Assertions.assertTrue(router.getBestRoute(CardanoConstants.LOVELACE, TOKEN_C, BigInteger.ONE, 1).isEmpty());
+    }
+}
@@ -0,0 +1,103 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Result;
+import com.bloxbean.cardano.client.backend.api.BlockService;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import com.bloxbean.cardano.client.backend.model.Block;
+import com.bloxbean.cardano.client.backend.model.TxContentOutputAmount;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxo;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxoInputs;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxoOutputs;
+
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory chain for offline sync tests, served through stub block and transaction services and a {@link TxSource TxSource}
+ */
+class FakeChain {
+    private final TreeMap<Long, Block> blocks = new TreeMap<>();
+    private final Map<Long, List<String>> txHashesByHeight = new HashMap<>();
+    private final Map<String, TxContentUtxo> txs = new HashMap<>();
+
+    /**
+     * Add a block, replacing the block at the same height (a fork) and dropping all blocks above it
+     */
+    void addBlock(long height, String hash, TxContentUtxo... blockTxs){
+        blocks.tailMap(height, true).clear();
+        var block = new Block();
+        block.setHeight((int) height);
+        block.setHash(hash);
+        blocks.put(height, block);
+        var txHashes = new ArrayList<String>();
+        for(var tx : blockTxs){
+            txs.put(tx.getHash(), tx);
+            txHashes.add(tx.getHash());
+        }
+        txHashesByHeight.put(height, txHashes);
+    }
+
+    BlockService blockService(){
+        return (BlockService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{BlockService.class}, (proxy, method, args) -> switch(method.getName()){
+            case "getLatestBlock" -> Result.success("OK").withValue(blocks.lastEntry().getValue());
+            case "getBlockByNumber" -> {
+                var block = blocks.get(((BigInteger) args[0]).longValue());
+                yield block != null ? Result.success("OK").withValue(block) : Result.error("Not Found").code(404);
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    TransactionService transactionService(){
+        return (TransactionService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TransactionService.class}, (proxy, method, args) -> {
+            if(!method.getName().equals("getTransactionUtxos")){
+                throw new UnsupportedOperationException(method.getName());
+            }
+            var tx = txs.get((String) args[0]);
+            return tx != null ? Result.success("OK").withValue(tx) : Result.error("Not Found").code(404);
+        });
+    }
+
+    TxSource txSource(){
+        return (afterHeight, upToHeight) -> blocks.subMap(afterHeight, false, upToHeight, true).keySet().stream()
+                .flatMap(height -> txHashesByHeight.get(height).stream())
+                .toList();
+    }
+
+    static TxContentUtxo tx(String hash, List<TxContentUtxoInputs> inputs, TxContentUtxoOutputs... outputs){
+        var tx = new TxContentUtxo();
+        tx.setHash(hash);
+        tx.setInputs(inputs);
+        tx.setOutputs(Arrays.asList(outputs));
+        return tx;
+    }
+
+    static TxContentUtxoInputs input(String txHash, int outputIndex, String address){
+        var input = new TxContentUtxoInputs();
+        input.setTxHash(txHash);
+        input.setOutputIndex(outputIndex);
+        input.setAddress(address);
+        return input;
+    }
+
+    static TxContentUtxoOutputs output(int outputIndex, String address, String dataHash, Amount... amounts){
+        var output = new TxContentUtxoOutputs();
+        output.setOutputIndex(outputIndex);
+        output.setAddress(address);
+        output.setDataHash(dataHash);
+        output.setAmount(Arrays.stream(amounts).map(amount -> {
+            var outputAmount = new TxContentOutputAmount();
+            outputAmount.setUnit(amount.getUnit());
+            outputAmount.setQuantity(amount.getQuantity().toString());
+            return outputAmount;
+        }).toList());
+        return output;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.client.util.Tuple;
+import com.bloxbean.cardano.jadex.core.order.book.OrderBook;
+import com.bloxbean.cardano.jadex.core.order.book.UtxoOrder;
+import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class OrderSyncTest {
+    private static final String POLICY_A = "a".repeat(56);
+    private static final String POLICY_B = "b".repeat(56);
+    private static final String TOKEN = "746f6b656e";
+    private static final String ORDER_ADDRESS = "addr_test1worder";
+    private static final String WALLET_ADDRESS = "addr_test1wallet";
+    private static final String DATA_HASH = "d".repeat(64);
+    private static final long MIN_ORDER_LOVELACE = 2_000_000;
+    private static final String TX_0 = "0".repeat(64);
+    private static final String TX_1 = "1".repeat(64);
+    private static final String TX_2 = "2".repeat(64);
+
+    private final FakeChain chain = new FakeChain();
+    // output reference - order definition, as resolved from the order datum
+    private final Map<String, OrderDefinition> definitions = new HashMap<>();
+    private final OrderSync orderSync = new OrderSync(chain.blockService(),
+            chain.transactionService(),
+            chain.txSource(),
+            ORDER_ADDRESS,
+            utxo -> new UtxoOrder(utxo, definitions.get(utxo.getTxHash() + "#" + utxo.getOutputIndex())),
+            // like the order rescan, dust orders are not part of any order book
+            (utxo, unitA, unitB) -> utxo.getAmount().stream().anyMatch(amount -> (amount.getUnit().equals(unitA) || amount.getUnit().equals(unitB))
+                    && (!amount.getUnit().equals(CardanoConstants.LOVELACE) || amount.getQuantity().compareTo(BigInteger.valueOf(MIN_ORDER_LOVELACE)) >= 0)),
+            () -> List.of(
+                    order(TX_0, 0, buy(POLICY_A, 10_000_000, 5_000_000), lovelace(12_000_000)),
+                    order(TX_0, 1, sell(POLICY_A, 5_000_000, 11_000_000), lovelace(2_000_000), new Amount(POLICY_A + TOKEN, BigInteger.valueOf(5_000_000))),
+                    order(TX_0, 2, buy(POLICY_B, 10_000_000, 1_000_000), lovelace(12_000_000))));
+
+    @Test
+    void testPairBooksFollowSpendsAndNewOrders(){
+        chain.addBlock(100, "a".repeat(64));
+        orderSync.sync();
+        var bookA = bookOf(POLICY_A);
+        Assertions.assertEquals(List.of(TX_0 + "#0"), references(bookA.getBuyOrder()));
+        Assertions.assertEquals(List.of(TX_0 + "#1"), references(bookA.getSellOrder()));
+
+        // order 0 is filled, a new order and a dust order are placed
+        definitions.put(TX_1 + "#1", buy(POLICY_A, 20_000_000, 9_000_000));
+        definitions.put(TX_1 + "#2", buy(POLICY_A, 1_000_000, 500_000));
+        chain.addBlock(101, "b".repeat(64),
+                FakeChain.tx(TX_1, List.of(FakeChain.input(TX_0, 0, ORDER_ADDRESS), FakeChain.input(TX_0, 9, WALLET_ADDRESS)),
+                        FakeChain.output(0, WALLET_ADDRESS, null, lovelace(2_000_000), new Amount(POLICY_A + TOKEN, BigInteger.valueOf(5_000_000))),
+                        FakeChain.output(1, ORDER_ADDRESS, DATA_HASH, lovelace(22_000_000)),
+                        FakeChain.output(2, ORDER_ADDRESS, DATA_HASH, lovelace(1_000_000))));
+        Assertions.assertEquals(1, orderSync.sync());
+
+        Assertions.assertEquals(4, orderSync.size());
+        var updatedBookA = bookOf(POLICY_A);
+        Assertions.assertEquals(List.of(TX_1 + "#1"), references(updatedBookA.getBuyOrder()));
+        Assertions.assertEquals(List.of(TX_0 + "#1"), references(updatedBookA.getSellOrder()));
+        // a returned book is a snapshot
+        Assertions.assertEquals(List.of(TX_0 + "#0"), references(bookA.getBuyOrder()));
+
+        // the order book of B is built on its first request, from the current orders
+        Assertions.assertEquals(List.of(TX_0 + "#2"), references(bookOf(POLICY_B).getBuyOrder()));
+
+        // the order of B is cancelled
+        chain.addBlock(102, "c".repeat(64),
+                FakeChain.tx(TX_2, List.of(FakeChain.input(TX_0, 2, ORDER_ADDRESS)),
+                        FakeChain.output(0, WALLET_ADDRESS, null, lovelace(11_800_000))));
+        orderSync.sync();
+
+        Assertions.assertTrue(bookOf(POLICY_B).getBuyOrder().isEmpty());
+        Assertions.assertEquals(List.of(TX_1 + "#1"), references(bookOf(POLICY_A).getBuyOrder()));
+        Assertions.assertEquals(3, orderSync.size());
+    }
+
+    private OrderBook bookOf(String policyId){
+        return orderSync.getOrderBook(null, CardanoConstants.LOVELACE, policyId, TOKEN, 6, 6);
+    }
+
+    private UtxoOrder order(String txHash, int outputIndex, OrderDefinition definition, Amount... amounts){
+        definitions.put(txHash + "#" + outputIndex, definition);
+        var utxo = Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .address(ORDER_ADDRESS)
+                .dataHash(DATA_HASH)
+                .amount(List.of(amounts))
+                .build();
+        return new UtxoOrder(utxo, definition);
+    }
+
+    private static List<String> references(List<Tuple<UtxoOrder, BigDecimal>> orders){
+        return orders.stream().map(order -> order._1.utxo().getTxHash() + "#" + order._1.utxo().getOutputIndex()).toList();
+    }
+
+    private static OrderDefinition buy(String policyId, long lovelaceIn, long minimumAmountOut){
+        return definition(null, CardanoConstants.LOVELACE, lovelaceIn, policyId, TOKEN, minimumAmountOut);
+    }
+
+    private static OrderDefinition sell(String policyId, long amountIn, long minimumLovelaceOut){
+        return definition(policyId, TOKEN, amountIn, null, CardanoConstants.LOVELACE, minimumLovelaceOut);
+    }
+
+    private static OrderDefinition definition(String inPolicyId, String inTokenName, long amountIn, String outPolicyId, String outTokenName, long minimumAmountOut){
+        return OrderDefinition.builder()
+                .assetInPolicyId(inPolicyId)
+                .assetInTokenName(inTokenName)
+                .amountIn(BigInteger.valueOf(amountIn))
+                .assetOutPolicyId(outPolicyId)
+                .assetOutTokenName(outTokenName)
+                .minimumAmountOut(BigInteger.valueOf(minimumAmountOut))
+                .paymentKeyHash(new byte[28])
+                .stakeKeyHash(new byte[28])
+                .build();
+    }
+
+    private static Amount lovelace(long quantity){
+        return new Amount(CardanoConstants.LOVELACE, BigInteger.valueOf(quantity));
+    }
+}
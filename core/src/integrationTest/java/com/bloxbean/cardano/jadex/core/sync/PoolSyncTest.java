@@ -0,0 +1,115 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxoOutputs;
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.jadex.core.config.DexConfigs;
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import com.bloxbean.cardano.jadex.core.pool.TestPoolStates;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class PoolSyncTest {
+    private static final String TOKEN = "29d222ce763455e3d7a09a665ce554f00ac89d2e99a1a83d267170c6" + "4d494e";
+    private static final String POOL_ADDRESS = "addr_test1wpool";
+    private static final String WALLET_ADDRESS = "addr_test1wallet";
+    private static final String TX_0 = "0".repeat(64);
+    private static final String TX_1 = "1".repeat(64);
+    private static final String TX_2 = "2".repeat(64);
+    private static final String TX_3 = "3".repeat(64);
+
+    private final FakeChain chain = new FakeChain();
+    private List<PoolState> fullScan = List.of(
+            TestPoolStates.pool(TX_0, 1, 1, CardanoConstants.LOVELACE, TOKEN, 1_000_000, 2_000_000),
+            TestPoolStates.pool(TX_0, 2, 2, CardanoConstants.LOVELACE, TOKEN, 3_000_000, 4_000_000),
+            TestPoolStates.pool(TX_0, 3, 3, CardanoConstants.LOVELACE, TOKEN, 5_000_000, 6_000_000));
+    private final PoolSync poolSync = new PoolSync(chain.blockService(),
+            chain.transactionService(),
+            chain.txSource(),
+            utxo -> utxo.getAmount().stream().anyMatch(amount -> StringUtils.startsWith(amount.getUnit(), DexConfigs.MIN_CONFIG.poolNftPolicyId())),
+            utxo -> new PoolState(utxo.getTxHash(), utxo.getOutputIndex(), utxo.getAmount(), utxo.getDataHash(), CardanoConstants.LOVELACE, TOKEN, DexConfigs.MIN_CONFIG),
+            () -> fullScan);
+
+    @Test
+    void testBlockOfAddsAndSpends(){
+        chain.addBlock(100, "a".repeat(64));
+        poolSync.sync();
+        var notified = new ArrayList<Collection<PoolState>>();
+        poolSync.addListener(notified::add);
+
+        chain.addBlock(101, "b".repeat(64),
+                // swap in pool 1, replacing its UTxO
+                FakeChain.tx(TX_1, List.of(FakeChain.input(TX_0, 1, POOL_ADDRESS), FakeChain.input(TX_0, 9, WALLET_ADDRESS)),
+                        poolOutput(0, 1, 1_100_000, 1_818_182),
+                        FakeChain.output(1, WALLET_ADDRESS, null, lovelace(5_000_000))),
+                // pool 2 withdrawn, its NFT is burned
+                FakeChain.tx(TX_2, List.of(FakeChain.input(TX_0, 2, POOL_ADDRESS)),
+                        FakeChain.output(0, WALLET_ADDRESS, null, lovelace(3_000_000), new Amount(TOKEN, BigInteger.valueOf(4_000_000)))),
+                // pool 4 created
+                FakeChain.tx(TX_3, List.of(FakeChain.input(TX_0, 8, WALLET_ADDRESS)),
+                        poolOutput(0, 4, 7_000_000, 8_000_000)));
+        var applied = poolSync.sync();
+
+        Assertions.assertEquals(3, applied);
+        Assertions.assertEquals(101, poolSync.getLastHeight());
+        Assertions.assertEquals(3, poolSync.size());
+        var pool1 = poolSync.getPool(TestPoolStates.poolId(1));
+        Assertions.assertEquals(TX_1, pool1.getTxHash());
+        Assertions.assertEquals(BigInteger.valueOf(1_100_000), pool1.getPool().getReserveA());
+        Assertions.assertNull(poolSync.getPool(TestPoolStates.poolId(2)));
+        Assertions.assertEquals(TX_0, poolSync.getPool(TestPoolStates.poolId(3)).getTxHash());
+        Assertions.assertEquals(TX_3, poolSync.getPool(TestPoolStates.poolId(4)).getTxHash());
+        Assertions.assertEquals(1, notified.size());
+        Assertions.assertEquals(3, notified.get(0).size());
+
+        // the replaced UTxO of pool 1 is spent, the pool is dropped
+        chain.addBlock(102, "c".repeat(64),
+                FakeChain.tx("4".repeat(64), List.of(FakeChain.input(TX_1, 0, POOL_ADDRESS)),
+                        FakeChain.output(0, WALLET_ADDRESS, null, lovelace(1_100_000))));
+        poolSync.sync();
+
+        Assertions.assertNull(poolSync.getPool(TestPoolStates.poolId(1)));
+        Assertions.assertEquals(2, poolSync.size());
+    }
+
+    @Test
+    void testRescanWhenLastBlockIsRolledBack(){
+        chain.addBlock(100, "a".repeat(64));
+        poolSync.sync();
+        chain.addBlock(101, "b".repeat(64), FakeChain.tx(TX_3, List.of(), poolOutput(0, 4, 7_000_000, 8_000_000)));
+        poolSync.sync();
+        Assertions.assertNotNull(poolSync.getPool(TestPoolStates.poolId(4)));
+
+        // block 101 is replaced by a fork at the same height, without the pool 4 transaction
+        chain.addBlock(101, "d".repeat(64));
+        fullScan = List.of(TestPoolStates.pool(TX_0, 1, 1, CardanoConstants.LOVELACE, TOKEN, 1_000_000, 2_000_000));
+        var applied = poolSync.sync();
+
+        Assertions.assertEquals(0, applied);
+        Assertions.assertEquals(101, poolSync.getLastHeight());
+        Assertions.assertEquals(1, poolSync.size());
+        Assertions.assertNull(poolSync.getPool(TestPoolStates.poolId(4)));
+
+        // the fork is the new reference, following blocks are applied incrementally again
+        chain.addBlock(102, "e".repeat(64), FakeChain.tx(TX_2, List.of(FakeChain.input(TX_0, 1, POOL_ADDRESS)), poolOutput(0, 1, 1_200_000, 1_700_000)));
+        Assertions.assertEquals(1, poolSync.sync());
+        Assertions.assertEquals(TX_2, poolSync.getPool(TestPoolStates.poolId(1)).getTxHash());
+    }
+
+    private static TxContentUtxoOutputs poolOutput(int outputIndex, int pool, long reserveA, long reserveB){
+        return FakeChain.output(outputIndex, POOL_ADDRESS, "f".repeat(64),
+                lovelace(reserveA),
+                new Amount(TOKEN, BigInteger.valueOf(reserveB)),
+                new Amount(TestPoolStates.nft(pool), BigInteger.ONE));
+    }
+
+    private static Amount lovelace(long quantity){
+        return new Amount(CardanoConstants.LOVELACE, BigInteger.valueOf(quantity));
+    }
+}
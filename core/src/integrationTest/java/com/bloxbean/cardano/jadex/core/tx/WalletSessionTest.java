@@ -0,0 +1,140 @@
+package com.bloxbean.cardano.jadex.core.tx;
+
+import com.bloxbean.cardano.client.account.Account;
+import com.bloxbean.cardano.client.api.UtxoSupplier;
+import com.bloxbean.cardano.client.api.common.OrderEnum;
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.common.model.Networks;
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
+import com.bloxbean.cardano.client.transaction.spec.TransactionBody;
+import com.bloxbean.cardano.client.transaction.spec.TransactionInput;
+import com.bloxbean.cardano.client.transaction.spec.TransactionOutput;
+import com.bloxbean.cardano.client.transaction.spec.Value;
+import com.bloxbean.cardano.jadex.core.order.collateral.Collateral;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+class WalletSessionTest {
+    private static final Account ACCOUNT = new Account(Networks.testnet());
+    private static final String ORDER_ADDRESS = new Account(Networks.testnet()).baseAddress();
+    private static final String TX_0 = "0".repeat(64);
+    private static final String TX_1 = "1".repeat(64);
+    private static final String TX_2 = "2".repeat(64);
+    private static final String TX_3 = "3".repeat(64);
+
+    @Test
+    void testPendingOutputsAreOfferedAndSpentInputsHidden(){
+        var session = new WalletSession(ACCOUNT, confirmed(utxo(TX_0, 0, 10_000_000), utxo(TX_0, 1, 20_000_000)));
+
+        session.register(TX_1, transaction(List.of(input(TX_0, 0)), output(ORDER_ADDRESS, 4_000_000), output(ACCOUNT.baseAddress(), 5_800_000)), new CompletableFuture<>());
+
+        var utxos = session.getUtxoSupplier().getAll(ACCOUNT.baseAddress());
+        Assertions.assertEquals(List.of(TX_0 + "#1", TX_1 + "#1"), references(utxos));
+        Assertions.assertEquals(BigInteger.valueOf(5_800_000), utxos.get(1).getAmount().get(0).getQuantity());
+        Assertions.assertTrue(session.getUtxoSupplier().getTxOutput(TX_1, 1).isPresent());
+        Assertions.assertTrue(session.isSpent(TX_0, 0));
+        Assertions.assertEquals(1, session.getPendingCount());
+    }
+
+    @Test
+    void testConfirmationDropsEntry(){
+        var session = new WalletSession(ACCOUNT, confirmed(utxo(TX_0, 0, 10_000_000)));
+        var confirmation = new CompletableFuture<String>();
+        session.register(TX_1, transaction(List.of(input(TX_0, 0)), output(ACCOUNT.baseAddress(), 9_800_000)), confirmation);
+
+        confirmation.complete(TX_1);
+
+        Assertions.assertEquals(0, session.getPendingCount());
+        Assertions.assertFalse(session.isSpent(TX_0, 0));
+    }
+
+    @Test
+    void testFailureRollsBackDescendants(){
+        var session = new WalletSession(ACCOUNT, confirmed(utxo(TX_0, 0, 10_000_000), utxo(TX_0, 1, 20_000_000)));
+        var confirmation1 = new CompletableFuture<String>();
+        var confirmation2 = new CompletableFuture<String>();
+        var confirmation3 = new CompletableFuture<String>();
+        session.register(TX_1, transaction(List.of(input(TX_0, 0)), output(ACCOUNT.baseAddress(), 9_800_000)), confirmation1);
+        // spends the change of tx 1
+        session.register(TX_2, transaction(List.of(input(TX_1, 0)), output(ACCOUNT.baseAddress(), 9_600_000)), confirmation2);
+        // independent of tx 1
+        session.register(TX_3, transaction(List.of(input(TX_0, 1)), output(ACCOUNT.baseAddress(), 19_800_000)), confirmation3);
+        Assertions.assertEquals(List.of(TX_2 + "#0", TX_3 + "#0"), references(session.getUtxoSupplier().getAll(ACCOUNT.baseAddress())));
+
+        confirmation1.completeExceptionally(new TimeoutException("not confirmed"));
+
+        Assertions.assertTrue(confirmation2.isCompletedExceptionally());
+        Assertions.assertFalse(confirmation3.isDone());
+        Assertions.assertEquals(1, session.getPendingCount());
+        Assertions.assertEquals(List.of(TX_0 + "#0", TX_3 + "#0"), references(session.getUtxoSupplier().getAll(ACCOUNT.baseAddress())));
+    }
+
+    @Test
+    void testCollateralIsNeverOffered(){
+        var session = new WalletSession(ACCOUNT, confirmed(utxo(TX_0, 0, 10_000_000), utxo(TX_0, 1, 5_000_000)));
+
+        session.setCollateral(new Collateral(TX_0, 1));
+
+        Assertions.assertEquals(List.of(TX_0 + "#0"), references(session.getUtxoSupplier().getAll(ACCOUNT.baseAddress())));
+        session.register(TX_1, transaction(List.of(input(TX_0, 0)), output(ACCOUNT.baseAddress(), 9_800_000)), new CompletableFuture<>());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> session.setCollateral(new Collateral(TX_0, 0)));
+    }
+
+    private static UtxoSupplier confirmed(Utxo... utxos){
+        return new UtxoSupplier() {
+            @Override
+            public List<Utxo> getPage(String address, Integer nrOfItems, Integer page, OrderEnum order) {
+                return page == null || page == 0 ? List.of(utxos) : Collections.emptyList();
+            }
+
+            @Override
+            public Optional<Utxo> getTxOutput(String txHash, int outputIndex) {
+                return List.of(utxos).stream()
+                        .filter(utxo -> utxo.getTxHash().equals(txHash) && utxo.getOutputIndex() == outputIndex)
+                        .findFirst();
+            }
+        };
+    }
+
+    private static Utxo utxo(String txHash, int outputIndex, long lovelace){
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(outputIndex)
+                .address(ACCOUNT.baseAddress())
+                .amount(List.of(Amount.lovelace(BigInteger.valueOf(lovelace))))
+                .build();
+    }
+
+    private static TransactionInput input(String txHash, int index){
+        return TransactionInput.builder().transactionId(txHash).index(index).build();
+    }
+
+    private static TransactionOutput output(String address, long lovelace){
+        return TransactionOutput.builder()
+                .address(address)
+                .value(Value.builder().coin(BigInteger.valueOf(lovelace)).multiAssets(new ArrayList<>()).build())
+                .build();
+    }
+
+    private static Transaction transaction(List<TransactionInput> inputs, TransactionOutput... outputs){
+        return Transaction.builder()
+                .body(TransactionBody.builder()
+                        .inputs(new ArrayList<>(inputs))
+                        .outputs(new ArrayList<>(List.of(outputs)))
+                        .build())
+                .build();
+    }
+
+    private static List<String> references(List<Utxo> utxos){
+        return utxos.stream().map(utxo -> utxo.getTxHash() + "#" + utxo.getOutputIndex()).toList();
+    }
+}
@@ -0,0 +1,127 @@
+package com.bloxbean.cardano.jadex.core.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class ConcurrencyUtilTest {
+    private final ExecutorService executor = ConcurrencyUtil.newDaemonExecutor(8, "test");
+
+    @AfterEach
+    void shutdown(){
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testPagesAreOrderedBySourceAndPage(){
+        var pageCounts = Map.of("A", 3, "B", 1, "C", 0, "D", 5);
+
+        var items = ConcurrencyUtil.fetchPages(List.of("A", "B", "C", "D"), (source, page) -> {
+            sleepRandomly();
+            return page <= pageCounts.get(source) ? List.of(source + page + "a", source + page + "b") : List.of();
+        }, 4, executor);
+
+        Assertions.assertEquals(List.of("A1a", "A1b", "A2a", "A2b", "A3a", "A3b",
+                "B1a", "B1b",
+                "D1a", "D1b", "D2a", "D2b", "D3a", "D3b", "D4a", "D4b", "D5a", "D5b"), items);
+    }
+
+    @Test
+    void testSourceStopsAtFirstEmptyPage(){
+        var emptyPageReturned = new AtomicBoolean();
+        var requestsAfterEmptyPage = new AtomicInteger();
+
+        // a source returning items again after an empty page, pages prefetched after the empty page must be dropped
+        var items = ConcurrencyUtil.fetchPages(List.of("A"), (source, page) -> {
+            if(emptyPageReturned.get()){
+                requestsAfterEmptyPage.incrementAndGet();
+            }
+            sleepRandomly();
+            if(page == 3){
+                emptyPageReturned.set(true);
+                return List.of();
+            }
+            return List.of(source + page);
+        }, 4, executor);
+
+        Assertions.assertEquals(List.of("A1", "A2"), items);
+        // only the completions handled before the empty page refill their slot, at most the other requests in flight
+        Assertions.assertTrue(requestsAfterEmptyPage.get() <= 3, "requests after empty page " + requestsAfterEmptyPage.get());
+    }
+
+    @Test
+    void testInFlightRequestsAreBounded(){
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+
+        var items = ConcurrencyUtil.fetchPages(List.of("A", "B", "C"), (source, page) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try{
+                sleepRandomly();
+                return page <= 10 ? List.of(source + page) : List.<String>of();
+            }finally{
+                inFlight.decrementAndGet();
+            }
+        }, 3, executor);
+
+        Assertions.assertEquals(30, items.size());
+        Assertions.assertTrue(maxInFlight.get() <= 3, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void testFailureIsPropagatedAndPendingRequestsCancelled(){
+        var requests = new AtomicInteger();
+        var queued = Collections.synchronizedList(new ArrayList<Runnable>());
+        // runs the first request inline, queues all others without running them
+        Executor executor = runnable -> {
+            if(requests.get() == 0){
+                runnable.run();
+            }else{
+                queued.add(runnable);
+            }
+        };
+
+        var error = Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrencyUtil.fetchPages(List.of("A"), (source, page) -> {
+            if(requests.incrementAndGet() == 1){
+                throw new IllegalArgumentException("page " + page + " failed");
+            }
+            return List.of(source + page);
+        }, 3, executor));
+        Assertions.assertEquals("page 1 failed", error.getMessage());
+
+        Assertions.assertEquals(2, queued.size());
+        queued.forEach(Runnable::run);
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testMapPreservesOrder(){
+        var items = IntStream.range(0, 50).boxed().toList();
+
+        var mapped = ConcurrencyUtil.map(items, item -> {
+            sleepRandomly();
+            return "item" + item;
+        }, 4, executor);
+
+        Assertions.assertEquals(items.stream().map(item -> "item" + item).toList(), mapped);
+    }
+
+    private static void sleepRandomly(){
+        try{
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -104,4 +106,81 @@ public class OrderUtilTest {
         Assertions.assertEquals(2, poolAmountsIn.size());
         Assertions.assertEquals(BigInteger.valueOf(610), poolAmountsIn.get(0).getAmountIn().add(poolAmountsIn.get(1).getAmountIn()));
     }
+
+    @Test
+    public void testAnalyticSplitWithMultiplePools() {
+        String assetIn = "AssetA";
+        BigInteger amountIn = BigInteger.valueOf(1000);
+
+        List<Pool> allPools = new ArrayList<>();
+        allPools.add(new Pool("pool1", assetIn, "AssetB", BigInteger.valueOf(16000), BigInteger.valueOf(15000), BigDecimal.ZERO));
+        allPools.add(new Pool("pool2", assetIn, "AssetB", BigInteger.valueOf(15500), BigInteger.valueOf(15000), BigDecimal.ZERO));
+        allPools.add(new Pool("pool3", assetIn, "AssetB", BigInteger.valueOf(20000), BigInteger.valueOf(20000), BigDecimal.ZERO));
+
+        List<OrderUtil.AmountInPerPool> poolAmountsIn = OrderUtil.analyticSplit(assetIn, amountIn, allPools, BigDecimal.valueOf(0.1));
+
+        Assertions.assertEquals(3, poolAmountsIn.size());
+        Assertions.assertEquals("pool3", poolAmountsIn.get(0).getPoolId());
+        Assertions.assertEquals(amountIn, poolAmountsIn.stream().map(OrderUtil.AmountInPerPool::getAmountIn).reduce(BigInteger.ZERO, BigInteger::add));
+    }
+
+    @Test
+    public void testAnalyticSplitWithSlippage() {
+        String assetIn = "AssetA";
+        BigInteger amountIn = BigInteger.valueOf(1000);
+
+        List<Pool> allPools = new ArrayList<>();
+        allPools.add(new Pool("pool1", assetIn, "AssetB", BigInteger.valueOf(16000), BigInteger.valueOf(15000), BigDecimal.ZERO));
+        allPools.add(new Pool("pool2", assetIn, "AssetB", BigInteger.valueOf(15500), BigInteger.valueOf(15000), BigDecimal.ZERO));
+        allPools.add(new Pool("pool3", assetIn, "AssetB", BigInteger.valueOf(20000), BigInteger.valueOf(20000), BigDecimal.ZERO));
+
+        BigDecimal slippage = BigDecimal.valueOf(0.05);
+        List<OrderUtil.AmountInPerPool> poolAmountsIn = OrderUtil.analyticSplit(assetIn, amountIn, allPools, slippage);
+
+        // without fee, the marginal price of a pool after swapping `a` is (x + a)^2 / (x*y). pool3 is the best pool with an initial price of 1,
+        // so the slippage caps the common price at 1.05: pool1 (initial price 16000/15000 > 1.05) is left out
+        Assertions.assertEquals(2, poolAmountsIn.size());
+        var mc = MathContext.DECIMAL128;
+        var bestPrice = BigDecimal.ONE;
+        var maxPrice = bestPrice.multiply(BigDecimal.ONE.add(slippage));
+        var expectedTotal = BigInteger.ZERO;
+        for(var poolAmountIn : poolAmountsIn){
+            var pool = allPools.stream().filter(it -> it.getId().equals(poolAmountIn.getPoolId())).findFirst().orElseThrow();
+            var x = new BigDecimal(pool.getReserveA());
+            var y = new BigDecimal(pool.getReserveB());
+            // the post-trade marginal price never exceeds the initial best price plus slippage
+            var postTradePrice = x.add(new BigDecimal(poolAmountIn.getAmountIn())).pow(2).divide(x.multiply(y), mc);
+            Assertions.assertTrue(postTradePrice.compareTo(maxPrice) <= 0, "price " + postTradePrice + " in " + pool.getId());
+            // closed form at the capped level: a = sqrt(maxPrice * x * y) - x, rounded down
+            expectedTotal = expectedTotal.add(maxPrice.multiply(x.multiply(y), mc).sqrt(mc).subtract(x).setScale(0, RoundingMode.FLOOR).toBigInteger());
+        }
+        Assertions.assertEquals(expectedTotal, poolAmountsIn.get(0).getAmountIn().add(poolAmountsIn.get(1).getAmountIn()));
+        Assertions.assertTrue(expectedTotal.compareTo(amountIn) < 0);
+    }
+
+    @Test
+    public void testAnalyticSplitWithLargeAmount() {
+        String assetIn = "lovelace";
+        BigInteger amountIn = BigInteger.valueOf(500_000_000_000L);
+        BigDecimal poolFee = new BigDecimal("0.003");
+
+        List<Pool> allPools = new ArrayList<>();
+        Pool pool1 = new Pool("pool1", assetIn, "AssetB", BigInteger.valueOf(30_000_000_000_000L), BigInteger.valueOf(9_000_000_000_000L), poolFee);
+        Pool pool2 = new Pool("pool2", assetIn, "AssetB", BigInteger.valueOf(2_000_000_000_000L), BigInteger.valueOf(610_000_000_000L), poolFee);
+        allPools.add(pool1);
+        allPools.add(pool2);
+
+        List<OrderUtil.AmountInPerPool> poolAmountsIn = OrderUtil.analyticSplit(assetIn, amountIn, allPools, null);
+
+        Assertions.assertEquals(2, poolAmountsIn.size());
+        Assertions.assertEquals(amountIn, poolAmountsIn.get(0).getAmountIn().add(poolAmountsIn.get(1).getAmountIn()));
+
+        // moving input from 1 pool to the other doesn't increase the output
+        var amount1 = poolAmountsIn.stream().filter(it -> it.getPoolId().equals("pool1")).findFirst().orElseThrow().getAmountIn();
+        var amount2 = amountIn.subtract(amount1);
+        var delta = BigInteger.valueOf(1_000_000);
+        var amountOut = pool1.getAmountOut(assetIn, amount1).amount().add(pool2.getAmountOut(assetIn, amount2).amount());
+        Assertions.assertTrue(amountOut.compareTo(pool1.getAmountOut(assetIn, amount1.add(delta)).amount().add(pool2.getAmountOut(assetIn, amount2.subtract(delta)).amount())) >= 0);
+        Assertions.assertTrue(amountOut.compareTo(pool1.getAmountOut(assetIn, amount1.subtract(delta)).amount().add(pool2.getAmountOut(assetIn, amount2.add(delta)).amount())) >= 0);
+    }
 }
@@ -8,11 +8,17 @@ import com.bloxbean.cardano.client.util.Tuple;
 import com.bloxbean.cardano.jadex.core.order.book.OrderBook;
 import com.bloxbean.cardano.jadex.core.order.book.UtxoOrder;
 import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
+import com.bloxbean.cardano.jadex.core.pool.AssetPair;
 import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import com.bloxbean.cardano.jadex.core.tx.PendingTx;
+import com.bloxbean.cardano.jadex.core.tx.WalletSession;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Interface representing the supported features for each Decentralized Exchange (DEX).
@@ -30,6 +36,15 @@ public interface Dex {
      */
     List<PoolState> getAllPools();
 
+    /**
+     * Stream all Pools for 1 DEX.
+     * Pages are fetched lazily: pools are emitted as soon as their page is decoded and no further pages are fetched once the stream is short-circuited (e.g. `findFirst`, `limit`).
+     * Since pages are only requested when the consumer pulls the next pool, the consumer controls the request rate.
+     *
+     * @return a lazy stream of all pools
+     */
+    Stream<PoolState> streamPools();
+
     /**
      * Retrieve the pool with the highest liquidity for given assets
      * Lovelace pools have empty assetAPolicyId and `lovelace` as assetATokenName
@@ -76,6 +91,15 @@ public interface Dex {
      */
     Tuple<BigDecimal, BigDecimal> getPrice(String poolId);
 
+    /**
+     * Retrieve the current prices of multiple asset pairs, using the pool with the highest liquidity for each pair.
+     * All pools are scanned at most once and the decimals of all assets are resolved in bulk, which is much more efficient than calling `getPrice` per pair.
+     *
+     * @param pairs the asset pairs to price
+     * @return a pair of asset A/B price and B/A price per requested pair, adjusted to decimals. Pairs without a pool are left out
+     */
+    Map<AssetPair, Tuple<BigDecimal, BigDecimal>> getPrices(Collection<AssetPair> pairs);
+
     /**
      * Provides the number of decimals used by an asset.
      * Asset decimals are used for interacting with prices
@@ -97,6 +121,13 @@ public interface Dex {
      */
     OrderBook getOpenOrders(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName);
 
+    /**
+     * Fetch all open orders of all asset pairs, scanning the order address only once
+     *
+     * @return an orderbook per normalized asset pair with open orders
+     */
+    Map<AssetPair, OrderBook> getAllOpenOrders();
+
     /**
      * Get 1 specific order by its swap transaction id
      * @param txId the transaction id of the swap transaction
@@ -114,6 +145,39 @@ public interface Dex {
      */
     String swap(Account sender, OrderDefinition orderDefinition, Duration invalidAfter);
 
+    /**
+     * Initiate a new swap order without waiting for its confirmation, see {@link #swap(Account, OrderDefinition, Duration) swap}
+     *
+     * @param sender the wallet of the account requesting the swap. Funds will be transferred from this wallet to the DEX.
+     * @param orderDefinition order-specific parameters used for building datum and metadata
+     * @param invalidAfter the duration after which the transaction will be removed from the mempool if it hasn't been included in a block yet. Recommended value is >2 hours.
+     * @return the submitted swap transaction, its confirmation completes once included in a block or fails after `invalidAfter`
+     */
+    PendingTx swapAsync(Account sender, OrderDefinition orderDefinition, Duration invalidAfter);
+
+    /**
+     * Initiate a new swap order within a wallet session, see {@link #swapAsync(Account, OrderDefinition, Duration) swapAsync}.
+     * The transaction can spend the outputs of previous, still unconfirmed transactions of the session.
+     *
+     * @param session the wallet session of the account requesting the swap
+     * @param orderDefinition order-specific parameters used for building datum and metadata
+     * @param invalidAfter the duration after which the transaction will be removed from the mempool if it hasn't been included in a block yet. Recommended value is >2 hours.
+     * @return the submitted swap transaction, its confirmation fails as well if a transaction it depends on fails
+     */
+    PendingTx swapAsync(WalletSession session, OrderDefinition orderDefinition, Duration invalidAfter);
+
+    /**
+     * Initiate multiple swap orders, placing as many orders per transaction as the transaction size limit and the DEX metadata allow.
+     * Transactions are submitted one after the other, each is confirmed before the next one is built
+     *
+     * @param sender the wallet of the account requesting the swaps. Funds will be transferred from this wallet to the DEX.
+     * @param orderDefinitions order-specific parameters used for building datums and metadata
+     * @param invalidAfter the duration after which the transactions will be removed from the mempool if they haven't been included in a block yet. Recommended value is >2 hours.
+     * @return the transaction IDs of the swap transactions, in order of the orders they contain
+     * @throws com.bloxbean.cardano.jadex.core.tx.BatchSubmissionException if a transaction fails, carrying the confirmed transaction IDs and the orders which were not placed
+     */
+    List<String> swapBatch(Account sender, List<OrderDefinition> orderDefinitions, Duration invalidAfter);
+
     /**
      * Cancel an existing swap order, identified by the provided {@link Utxo UTXO}.
      * A cancel can only be successful if the order is not fully matched
@@ -124,4 +188,44 @@ public interface Dex {
      * @return the transaction ID of the cancel transaction
      */
     String cancelSwap(Account sender, Utxo orderUtxo, Duration invalidAfter);
+
+    /**
+     * Cancel an existing swap order without waiting for its confirmation, see {@link #cancelSwap(Account, Utxo, Duration) cancelSwap}
+     *
+     * @param sender the wallet of the account requesting the cancel. Refunds will be paid into the wallets base address.
+     * @param orderUtxo the UTXO containing the swap to cancel
+     * @param invalidAfter the duration after which the transaction will be removed from the mempool if it hasn't been included in a block yet. Recommended value is >2 hours.
+     * @return the submitted cancel transaction, its confirmation completes once included in a block or fails after `invalidAfter`
+     */
+    PendingTx cancelSwapAsync(Account sender, Utxo orderUtxo, Duration invalidAfter);
+
+    /**
+     * Cancel multiple swap orders, spending as many order UTxOs per script transaction as the transaction size and execution unit limits allow.
+     * All transactions are chained in 1 {@link WalletSession wallet session} and submitted without waiting for the previous one to be confirmed
+     *
+     * @param sender the wallet of the account requesting the cancels. Refunds will be paid into the wallets base address.
+     * @param orderUtxos the UTXOs containing the swaps to cancel
+     * @param invalidAfter the duration after which the transactions will be removed from the mempool if they haven't been included in a block yet. Recommended value is >2 hours.
+     * @return the transaction IDs of the cancel transactions, in order of the orders they contain
+     * @throws com.bloxbean.cardano.jadex.core.tx.BatchSubmissionException if a transaction fails, carrying the confirmed transaction IDs and the order UTxOs which were not cancelled
+     */
+    List<String> cancelSwaps(Account sender, List<Utxo> orderUtxos, Duration invalidAfter);
+
+    /**
+     * Cancel an existing swap order within a wallet session, see {@link #cancelSwapAsync(Account, Utxo, Duration) cancelSwapAsync}
+     *
+     * @param session the wallet session of the account requesting the cancel
+     * @param orderUtxo the UTXO containing the swap to cancel
+     * @param invalidAfter the duration after which the transaction will be removed from the mempool if it hasn't been included in a block yet. Recommended value is >2 hours.
+     * @return the submitted cancel transaction, its confirmation fails as well if a transaction it depends on fails
+     */
+    PendingTx cancelSwapAsync(WalletSession session, Utxo orderUtxo, Duration invalidAfter);
+
+    /**
+     * Open a session chaining the transactions of a wallet, so they don't have to wait for the confirmation of the previous one
+     *
+     * @param sender the wallet of the session
+     * @return a new wallet session
+     */
+    WalletSession openSession(Account sender);
 }
@@ -3,9 +3,11 @@ package com.bloxbean.cardano.jadex.core;
 
 import com.bloxbean.cardano.client.account.Account;
 import com.bloxbean.cardano.client.address.Address;
+import com.bloxbean.cardano.client.api.UtxoSupplier;
 import com.bloxbean.cardano.client.api.common.OrderEnum;
 import com.bloxbean.cardano.client.api.exception.ApiException;
 import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.ProtocolParams;
 import com.bloxbean.cardano.client.api.model.Result;
 import com.bloxbean.cardano.client.api.model.Utxo;
 import com.bloxbean.cardano.client.api.util.CostModelUtil;
@@ -19,40 +21,56 @@ import com.bloxbean.cardano.client.common.CardanoConstants;
 import com.bloxbean.cardano.client.common.model.Networks;
 import com.bloxbean.cardano.client.function.helper.SignerProviders;
 import com.bloxbean.cardano.client.metadata.Metadata;
-import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
-import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
-import com.bloxbean.cardano.client.plutus.spec.Language;
 import com.bloxbean.cardano.client.plutus.spec.PlutusData;
-import com.bloxbean.cardano.client.plutus.spec.serializers.PlutusDataJsonConverter;
 import com.bloxbean.cardano.client.plutus.util.ScriptDataHashGenerator;
 import com.bloxbean.cardano.client.quicktx.QuickTxBuilder;
 import com.bloxbean.cardano.client.quicktx.ScriptTx;
 import com.bloxbean.cardano.client.quicktx.Tx;
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
 import com.bloxbean.cardano.client.transaction.spec.TransactionInput;
 import com.bloxbean.cardano.client.util.JsonUtil;
 import com.bloxbean.cardano.client.util.Tuple;
+import com.bloxbean.cardano.jadex.core.asset.AssetDecimalsRegistry;
 import com.bloxbean.cardano.jadex.core.config.DexConfig;
+import com.bloxbean.cardano.jadex.core.config.DexOptions;
+import com.bloxbean.cardano.jadex.core.datum.DatumResolver;
 import com.bloxbean.cardano.jadex.core.order.book.OrderBook;
 import com.bloxbean.cardano.jadex.core.order.book.UtxoOrder;
+import com.bloxbean.cardano.jadex.core.order.collateral.Collateral;
 import com.bloxbean.cardano.jadex.core.order.collateral.CollateralProvider;
 import com.bloxbean.cardano.jadex.core.order.collateral.DefaultCollateralProvider;
 import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
-import com.bloxbean.cardano.jadex.core.pool.DefaultPoolStateProvider;
+import com.bloxbean.cardano.jadex.core.pool.AssetPair;
+import com.bloxbean.cardano.jadex.core.pool.PoolIndex;
 import com.bloxbean.cardano.jadex.core.pool.PoolState;
-import com.bloxbean.cardano.jadex.core.util.AddressUtil;
+import com.bloxbean.cardano.jadex.core.route.Router;
+import com.bloxbean.cardano.jadex.core.script.ScriptRegistry;
+import com.bloxbean.cardano.jadex.core.sync.OrderSync;
+import com.bloxbean.cardano.jadex.core.sync.PoolSync;
+import com.bloxbean.cardano.jadex.core.sync.TxSource;
+import com.bloxbean.cardano.jadex.core.tx.BatchSubmissionException;
+import com.bloxbean.cardano.jadex.core.tx.PendingTx;
+import com.bloxbean.cardano.jadex.core.tx.TxConfirmationPoller;
+import com.bloxbean.cardano.jadex.core.tx.WalletSession;
 import com.bloxbean.cardano.jadex.core.util.BigIntegerUtil;
+import com.bloxbean.cardano.jadex.core.util.ConcurrencyUtil;
 import com.bloxbean.cardano.jadex.core.util.TokenUtil;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Generic implementation offering features to interact with a range of Cardano DEXes.
@@ -63,21 +81,40 @@ import java.util.stream.Collectors;
  * @author $stik
  */
 @Slf4j
-public class DexImpl implements Dex {
+public class DexImpl implements Dex, AutoCloseable {
+    private static final int PAGE_SIZE = 100;
+    // bytes reserved for inputs, change output, fee, ttl and witnesses when batching orders
+    private static final int TX_SIZE_RESERVE = 2_000;
+    private static final Duration CONFIRMATION_TIMEOUT = Duration.ofMinutes(2);
+    // explicit script or execution budget failures reported by the script cost evaluator
+    private static final List<String> SCRIPT_FAILURE_MARKERS = List.of("EvaluationFailure", "ScriptFailure", "ExUnits", "execution units", "budget");
 
     private final UtxoService utxoService;
     private final AssetService assetService;
     private final TransactionService transactionService;
     private final ScriptService scriptService;
     private final MetadataService metadataService;
-    private final Set<String> poolAddresses = new HashSet<>();
-    private final Map<String, Integer> assetDecimals = new HashMap<>();
+    private final Set<String> poolAddresses = ConcurrentHashMap.newKeySet();
+    private final AssetDecimalsRegistry assetDecimalsRegistry;
+    private final ScriptRegistry scriptRegistry;
     private final DexConfig dexConfig;
     private final BackendService backendService;
     private final CollateralProvider collateralProvider;
     private final BlockService blockService;
+    private final DexOptions dexOptions;
+    private final DatumResolver datumResolver;
+    private final PoolIndex poolIndex;
+    private final TxConfirmationPoller confirmationPoller;
+    private volatile PoolSync poolSync;
+    private volatile OrderSync orderSync;
+    private volatile Tuple<List<PoolState>, Router> router;
+    private ExecutorService executor;
+    private boolean closed;
 
     public DexImpl(BackendService backendService, DexConfig dexConfig) {
+        this(backendService, dexConfig, DexOptions.defaults());
+    }
+    public DexImpl(BackendService backendService, DexConfig dexConfig, DexOptions dexOptions) {
         this.utxoService = backendService.getUtxoService();
         this.assetService = backendService.getAssetService();
         this.transactionService = backendService.getTransactionService();
@@ -86,7 +123,32 @@ public class DexImpl implements Dex {
         this.backendService = backendService;
         this.blockService = backendService.getBlockService();
         this.collateralProvider = new DefaultCollateralProvider(backendService);
+        this.assetDecimalsRegistry = AssetDecimalsRegistry.of(backendService);
+        this.scriptRegistry = ScriptRegistry.of(backendService);
         this.dexConfig = dexConfig;
+        this.dexOptions = dexOptions != null ? dexOptions : DexOptions.defaults();
+        this.datumResolver = new DatumResolver(scriptService, this.dexOptions.datumCache(), this.dexOptions.datumRateLimiter());
+        this.poolIndex = new PoolIndex(this::loadPoolIndex, this.dexOptions.poolIndexRefreshInterval());
+        this.confirmationPoller = TxConfirmationPoller.of(backendService);
+    }
+    /**
+     * Stop the pool and order syncs and release the threads owned by this DEX: the fetch thread pool and the pool index refresh thread.
+     * An executor passed in through {@link DexOptions#executor()} is left running
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if(poolSync != null){
+            poolSync.stop();
+        }
+        if(orderSync != null){
+            orderSync.stop();
+        }
+        poolIndex.close();
+        if(executor != null){
+            executor.shutdown();
+            executor = null;
+        }
     }
     public Set<String> getPoolAddress() {
         if(!poolAddresses.isEmpty()){
@@ -112,6 +174,11 @@ public class DexImpl implements Dex {
             if(StringUtils.isBlank(poolId)){
                 return null;
             }
+            var sync = this.poolSync;
+            var synced = sync != null && sync.isRunning() ? sync.getPool(poolId) : null;
+            if(synced != null){
+                return synced;
+            }
             var nft = dexConfig.poolNftPolicyId() + poolId;
             var nftTxs = this.assetService.getTransactions(nft, 1, 1, OrderEnum.desc);
             if(nftTxs.getValue() == null || nftTxs.getValue().isEmpty()){
@@ -131,7 +198,7 @@ public class DexImpl implements Dex {
                     .findFirst();
 
             return poolUtxo
-                    .map(utxo -> dexConfig.poolStateProvider().fromUtxo(utxo, scriptService))
+                    .map(utxo -> dexConfig.poolStateProvider().fromUtxo(utxo, datumResolver))
                     .orElse(null);
         }catch(Exception e){
             log.error("Failed to load pool for id " + poolId, e);
@@ -140,15 +207,137 @@ public class DexImpl implements Dex {
     }
     @Override
     public List<PoolState> getAllPools() {
-        return getAllPools(null);
+        var allPools = getAllPools(null, null);
+        if(dexOptions.poolIndexEnabled()){
+            poolIndex.update(allPools);
+        }
+        return allPools;
+    }
+
+    @Override
+    public Stream<PoolState> streamPools() {
+        return getPoolAddress().stream()
+                .sorted()
+                .flatMap(poolAddress -> IntStream.iterate(1, page -> page + 1)
+                        .mapToObj(page -> getPools(page, PAGE_SIZE, poolAddress, null))
+                        .takeWhile(Optional::isPresent)
+                        .flatMap(pools -> pools.get().stream()));
+    }
+
+    /**
+     * The in-memory pool index used for pair lookups.
+     *
+     * @return the pool index of this DEX
+     */
+    public PoolIndex getPoolIndex() {
+        return poolIndex;
+    }
+
+    /**
+     * A router finding multi-hop swap routes over all pools of this DEX.
+     * With the pool index enabled, the router is built from the indexed pools and reused until the index is updated.
+     * Otherwise, all pools are scanned for each call.
+     *
+     * @return a router over the current pools
+     */
+    public Router getRouter() {
+        if(!dexOptions.poolIndexEnabled()){
+            return new Router(getAllPools(null, null));
+        }
+        var pools = poolIndex.getAllPools();
+        var current = this.router;
+        if(current == null || current._1 != pools){
+            current = new Tuple<>(pools, new Router(pools));
+            this.router = current;
+        }
+        return current._2;
     }
-    private List<PoolState> getAllPools(Predicate<PoolState> predicate) {
+    private List<PoolState> loadPoolIndex() {
+        var sync = this.poolSync;
+        return sync != null && sync.isRunning() && sync.getLastHeight() >= 0
+                ? sync.getPools()
+                : getAllPools(null, null);
+    }
+    /**
+     * Start following the chain tip to keep all pools current.
+     * After an initial full scan, only pool transactions of new blocks are fetched. The pool index is updated on every change.
+     *
+     * @param pollInterval the delay between 2 polls of the chain tip, typically around the block time (20 seconds)
+     * @return the running pool sync
+     */
+    public PoolSync startPoolSync(Duration pollInterval) {
+        var sync = getPoolSync();
+        sync.start(pollInterval);
+        return sync;
+    }
+    public void stopPoolSync() {
+        getPoolSync().stop();
+    }
+    /**
+     * The pool sync engine of this DEX, not started until {@link #startPoolSync(Duration) startPoolSync} is called
+     *
+     * @return the pool sync engine
+     */
+    public synchronized PoolSync getPoolSync() {
+        if(poolSync == null){
+            poolSync = new PoolSync(blockService,
+                    transactionService,
+                    TxSource.ofAsset(assetService, dexConfig.getPoolAssetId()),
+                    this::isValidPoolOutput,
+                    utxo -> dexConfig.poolStateProvider().fromUtxo(utxo, datumResolver),
+                    () -> getAllPools(null, null));
+            if(dexOptions.poolIndexEnabled()){
+                poolSync.addListener(poolIndex::update);
+            }
+        }
+        return poolSync;
+    }
+    /**
+     * Start following the chain tip to keep all open orders in memory.
+     * After an initial full scan, only order address transactions of new blocks are fetched. While running, {@link #getOpenOrders(String, String, String, String) getOpenOrders} is served from memory.
+     *
+     * @param pollInterval the delay between 2 polls of the chain tip, typically around the block time (20 seconds)
+     * @return the running order sync
+     */
+    public OrderSync startOrderSync(Duration pollInterval) {
+        var sync = getOrderSync();
+        sync.start(pollInterval);
+        return sync;
+    }
+    public void stopOrderSync() {
+        getOrderSync().stop();
+    }
+    /**
+     * The order sync engine of this DEX, not started until {@link #startOrderSync(Duration) startOrderSync} is called
+     *
+     * @return the order sync engine
+     */
+    public synchronized OrderSync getOrderSync() {
+        if(orderSync == null){
+            orderSync = new OrderSync(blockService,
+                    transactionService,
+                    TxSource.ofAddress(backendService.getAddressService(), dexConfig.orderAddress()),
+                    dexConfig.orderAddress(),
+                    this::buildOrder,
+                    this::isPairOrderUtxo,
+                    this::loadOpenOrders);
+        }
+        return orderSync;
+    }
+    /*
+     * utxoFilter is applied to the raw pool UTxOs, before the (potentially expensive) pool state is built.
+     * predicate is applied to the resulting pool states.
+     */
+    private List<PoolState> getAllPools(Predicate<Utxo> utxoFilter, Predicate<PoolState> predicate) {
+        if(dexOptions.fetchConcurrency() > 1){
+            return getAllPoolsParallel(utxoFilter, predicate);
+        }
         var allPools = new ArrayList<PoolState>();
         var poolAddresses = getPoolAddress();
         for(var poolAddress : poolAddresses){
             var page = 1;
             while(true){
-                var poolsOpt = getPools(page, 100, poolAddress);
+                var poolsOpt = getPools(page, PAGE_SIZE, poolAddress, utxoFilter);
                 if(poolsOpt.isEmpty()){
                     break;
                 }
@@ -160,7 +349,33 @@ public class DexImpl implements Dex {
         }
         return allPools;
     }
-    private Optional<List<PoolState>> getPools(int page, int count, String poolAddress){
+    /**
+     * Fetch pool pages of all pool addresses concurrently, bounded by {@link DexOptions#fetchConcurrency() fetchConcurrency}.
+     * Results are ordered by pool address and page.
+     */
+    private List<PoolState> getAllPoolsParallel(Predicate<Utxo> utxoFilter, Predicate<PoolState> predicate) {
+        var poolAddresses = getPoolAddress().stream().sorted().toList();
+        return ConcurrencyUtil.fetchPages(poolAddresses,
+                        (poolAddress, page) -> getPools(page, PAGE_SIZE, poolAddress, utxoFilter).orElse(Collections.emptyList()),
+                        dexOptions.fetchConcurrency(),
+                        getExecutor())
+                .stream()
+                .filter(it -> predicate == null || predicate.test(it))
+                .toList();
+    }
+    private synchronized ExecutorService getExecutor() {
+        if(dexOptions.executor() != null){
+            return dexOptions.executor();
+        }
+        if(closed){
+            throw new IllegalStateException("DEX " + dexConfig.dexType() + " is closed");
+        }
+        if(executor == null){
+            executor = ConcurrencyUtil.newDaemonExecutor(dexOptions.fetchConcurrency(), "jadex-" + dexConfig.dexType());
+        }
+        return executor;
+    }
+    private Optional<List<PoolState>> getPools(int page, int count, String poolAddress, Predicate<Utxo> utxoFilter){
         try{
             var result = utxoService.getUtxos(poolAddress, dexConfig.getPoolAssetId(), count, page, OrderEnum.asc).getValue();
             if(result == null || result.isEmpty()){
@@ -169,7 +384,8 @@ public class DexImpl implements Dex {
 
             return Optional.of(result.stream()
                     .filter(this::isValidPoolOutput)
-                    .map(it -> dexConfig.poolStateProvider().fromUtxo(it, scriptService))
+                    .filter(it -> utxoFilter == null || utxoFilter.test(it))
+                    .map(it -> dexConfig.poolStateProvider().fromUtxo(it, datumResolver))
                     .filter(Objects::nonNull)
                     .collect(Collectors.toList()));
 
@@ -228,19 +444,37 @@ public class DexImpl implements Dex {
     }
     @Override
     public Tuple<BigDecimal, BigDecimal> getPrice(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName) {
-        var normalized = DefaultPoolStateProvider.normalizeAssets(TokenUtil.getUnit(assetAPolicyId, assetATokenName), TokenUtil.getUnit(assetBPolicyId, assetBTokenName));
-        var possiblePools = getAllPools(pool -> (StringUtils.equals(pool.getAssetA(), normalized._1)
-                && StringUtils.equals(pool.getAssetB(), normalized._2))
-        );
-
-        return possiblePools.stream()
-                .filter(it -> it.liquidity() != null)
-                .sorted((it1, it2) -> it2.liquidity().compareTo(it1.liquidity()))
-                .findFirst()
-                .flatMap(pool -> {
-                    var poolPrice = getPoolPrice(pool, null, null);
-                    return Optional.ofNullable(poolPrice);
-                }).orElse(null);
+        var pool = getPool(AssetPair.of(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName));
+        return pool != null
+                ? getPoolPrice(pool, null, null)
+                : null;
+    }
+    @Override
+    public Map<AssetPair, Tuple<BigDecimal, BigDecimal>> getPrices(Collection<AssetPair> pairs) {
+        var pools = new HashMap<AssetPair, PoolState>();
+        for(var pool : getPools(pairs.stream().map(pair -> AssetPair.of(pair.assetA(), pair.assetB())).collect(Collectors.toSet()))){
+            pools.put(AssetPair.of(pool), pool);
+        }
+        var units = pools.values().stream()
+                .flatMap(pool -> Stream.of(pool.getAssetA(), pool.getAssetB()))
+                .collect(Collectors.toSet());
+        Map<String, OptionalInt> decimals;
+        try{
+            decimals = assetDecimalsRegistry.getDecimals(units, getExecutor());
+        }catch(Exception e){
+            log.error("Failed to get asset decimals for [" + units + "]", e);
+            throw new IllegalStateException(e);
+        }
+        var prices = new LinkedHashMap<AssetPair, Tuple<BigDecimal, BigDecimal>>();
+        for(var pair : pairs){
+            var pool = pools.get(AssetPair.of(pair.assetA(), pair.assetB()));
+            if(pool != null){
+                prices.put(pair, getPoolPrice(pool,
+                        decimals.get(pool.getAssetA()).orElse(getDefaultDecimals()),
+                        decimals.get(pool.getAssetB()).orElse(getDefaultDecimals())));
+            }
+        }
+        return prices;
     }
     /**
      * Get pool price.
@@ -267,75 +501,87 @@ public class DexImpl implements Dex {
         return getAssetDecimals(asset);
     }
     private int getAssetDecimals(String asset){
-        if(StringUtils.equals(asset, CardanoConstants.LOVELACE)){
-            return 6;
-        }
-        if(this.assetDecimals.containsKey(asset)){
-            return this.assetDecimals.get(asset);
-        }
         try{
-            var assetAInfo = assetService.getAsset(asset);
-            if(assetAInfo == null || assetAInfo.getValue() == null){
-                throw new IllegalStateException("No asset found for [" + asset + "]");
-            }
-            if(!Networks.mainnet().equals(this.dexConfig.network())
-                && (assetAInfo.getValue().getMetadata() == null || !assetAInfo.getValue().getMetadata().has("decimals"))){
-                return 6;
-            }
-            var result = assetAInfo.getValue().getMetadata() != null && assetAInfo.getValue().getMetadata().has("decimals")
-                    ? assetAInfo.getValue().getMetadata().get("decimals").intValue()
-                    : 0;
-            this.assetDecimals.put(asset, result);
-            return result;
+            // assets without decimals metadata default to 0 on mainnet and 6 on test networks
+            return assetDecimalsRegistry.getDecimals(asset)
+                    .orElse(getDefaultDecimals());
         }catch(Exception e){
             log.error("Failed to get asset decimals for [" + asset + "]", e);
             throw new IllegalStateException(e);
         }
     }
+    private int getDefaultDecimals(){
+        return Networks.mainnet().equals(this.dexConfig.network()) ? 0 : 6;
+    }
+
+    /**
+     * The registry of asset decimals, shared by all `DexImpl` instances using the same backend service.
+     * Can be used to preload decimals from (and persist them to) a snapshot file.
+     *
+     * @return the asset decimals registry
+     */
+    public AssetDecimalsRegistry getAssetDecimalsRegistry() {
+        return assetDecimalsRegistry;
+    }
+    /**
+     * The registry of order scripts, shared by all `DexImpl` instances using the same backend service.
+     * Can be used to register the order script upfront, so the first cancel doesn't fetch it.
+     *
+     * @return the script registry
+     */
+    public ScriptRegistry getScriptRegistry() {
+        return scriptRegistry;
+    }
     @Override
     public PoolState getPool(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName) {
-        var normalized = DefaultPoolStateProvider.normalizeAssets(TokenUtil.getUnit(assetAPolicyId, assetATokenName), TokenUtil.getUnit(assetBPolicyId, assetBTokenName));
-        var possiblePools = getAllPools(pool -> (StringUtils.equals(pool.getAssetA(), normalized._1)
-                && StringUtils.equals(pool.getAssetB(), normalized._2))
+        return getPool(AssetPair.of(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName));
+    }
+    private PoolState getPool(AssetPair pair) {
+        if(dexOptions.poolIndexEnabled()){
+            return poolIndex.getPool(pair);
+        }
+        var possiblePools = getAllPools(holdsAnyPair(List.of(pair)), pool -> (StringUtils.equals(pool.getAssetA(), pair.assetA())
+                && StringUtils.equals(pool.getAssetB(), pair.assetB()))
         );
         return possiblePools.stream()
+                .filter(it -> it.liquidity() != null)
                 .sorted((it1, it2) -> it2.liquidity().compareTo(it1.liquidity()))
                 .findFirst()
                 .orElse(null);
     }
-    private String swap(Account sender, String amountInPolicyId, String amountInTokenName, BigInteger amountIn, Long ttl, PlutusData datum, Metadata metadata) {
-        try{
-            var lovelaceAmount = Amount.lovelace(BigIntegerUtil.sum(StringUtils.isBlank(amountInPolicyId) && StringUtils.equals(amountInTokenName, CardanoConstants.LOVELACE) ? amountIn : BigInteger.ZERO, dexConfig.outputLovelace(), dexConfig.swapFee()));
-            var otherAmount = StringUtils.isNotBlank(amountInPolicyId) && !StringUtils.equals(amountInTokenName, CardanoConstants.LOVELACE)
-                    ? Amount.asset(TokenUtil.getUnit(amountInPolicyId, amountInTokenName), amountIn)
-                    : null;
-            var amounts = new ArrayList<Amount>();
-            amounts.add(lovelaceAmount);
-            if(otherAmount != null){
-                amounts.add(otherAmount);
+    /*
+     * the pool with the highest liquidity for each of the normalized pairs, using at most 1 pool scan
+     */
+    private Collection<PoolState> getPools(Set<AssetPair> pairs) {
+        if(dexOptions.poolIndexEnabled()){
+            return pairs.stream()
+                    .map(poolIndex::getPool)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        var best = new HashMap<AssetPair, PoolState>();
+        for(var pool : getAllPools(holdsAnyPair(pairs), pool -> pairs.contains(AssetPair.of(pool)))){
+            if(pool.liquidity() != null){
+                best.merge(AssetPair.of(pool), pool, (it1, it2) -> it2.liquidity().compareTo(it1.liquidity()) > 0 ? it2 : it1);
             }
-
-            Tx tx = new Tx()
-                    .payToContract(dexConfig.orderAddress(), amounts, datum.getDatumHash())
-                    .attachMetadata(metadata)
-                    .from(sender.baseAddress());
-
-            byte[] scriptDataHash = ScriptDataHashGenerator.generate(Collections.emptyList(),
-                    Collections.singletonList(datum), CostModelUtil.getLanguageViewsEncoding(dexConfig.costModel()));
-
-            QuickTxBuilder builder = new QuickTxBuilder(backendService);
-            Result<String> result = builder.compose(tx)
-                    .withUtxoSelectionStrategy(new RandomImproveUtxoSelectionStrategy(new DefaultUtxoSupplier(backendService.getUtxoService()), false))
-                    .withSigner(SignerProviders.signerFrom(sender))
-                    .preBalanceTx((txBuilderContext, transaction) -> {
-                        transaction.getWitnessSet().getPlutusDataList().add(datum);
-                        transaction.getBody().setScriptDataHash(scriptDataHash);
-                        if(ttl != null){
-                            transaction.getBody().setTtl(ttl);
-                        }
-                    })
-                    .mergeOutputs(false)
-                    .withTxInspector(txn -> log.debug("tx: " + JsonUtil.getPrettyJson(txn)))
+        }
+        return best.values();
+    }
+    /*
+     * only UTxOs holding both assets of a pair can be a pool of that pair, checked on the raw amounts before any datum is resolved
+     */
+    private static Predicate<Utxo> holdsAnyPair(Collection<AssetPair> pairs) {
+        return utxo -> {
+            var units = utxo.getAmount().stream()
+                    .map(Amount::getUnit)
+                    .collect(Collectors.toSet());
+            return pairs.stream().anyMatch(pair -> units.contains(pair.assetA()) && units.contains(pair.assetB()));
+        };
+    }
+    @Override
+    public String swap(Account sender, OrderDefinition orderDefinition, Duration invalidAfter) {
+        try{
+            Result<String> result = composeSwap(sender, List.of(orderDefinition), invalidAfter != null ? getTtl(invalidAfter) : null)
                     .completeAndWait(log::debug);
 
             log.debug("Result: " + result);
@@ -346,14 +592,236 @@ public class DexImpl implements Dex {
         }
     }
     @Override
-    public String swap(Account sender, OrderDefinition orderDefinition, Duration invalidAfter) {
-        return swap(sender,
-                orderDefinition.getAssetInPolicyId(),
-                orderDefinition.getAssetInTokenName(),
-                orderDefinition.getAmountIn(),
-                invalidAfter != null ? getTtl(invalidAfter) : null,
-                dexConfig.orderDefinitionProvider().toDatum(orderDefinition),
-                dexConfig.metadataProvider().toMetadata(orderDefinition));
+    public PendingTx swapAsync(Account sender, OrderDefinition orderDefinition, Duration invalidAfter) {
+        try{
+            var transaction = composeSwap(sender, List.of(orderDefinition), invalidAfter != null ? getTtl(invalidAfter) : null)
+                    .buildAndSign();
+            return track(submit(transaction), invalidAfter);
+        }catch(Exception e){
+            log.error("Failed to swap", e);
+            throw new IllegalStateException("Failed to swap", e);
+        }
+    }
+    @Override
+    public PendingTx swapAsync(WalletSession session, OrderDefinition orderDefinition, Duration invalidAfter) {
+        try{
+            var transaction = composeSwap(session.getAccount(), List.of(orderDefinition), invalidAfter != null ? getTtl(invalidAfter) : null, session.getUtxoSupplier())
+                    .buildAndSign();
+            return register(session, transaction, invalidAfter);
+        }catch(Exception e){
+            log.error("Failed to swap", e);
+            throw new IllegalStateException("Failed to swap", e);
+        }
+    }
+    @Override
+    public WalletSession openSession(Account sender) {
+        return new WalletSession(sender, new DefaultUtxoSupplier(backendService.getUtxoService()));
+    }
+    @Override
+    public List<String> swapBatch(Account sender, List<OrderDefinition> orderDefinitions, Duration invalidAfter) {
+        try{
+            var ttl = invalidAfter != null ? getTtl(invalidAfter) : null;
+            var maxTxSize = getMaxTxSize();
+            var txHashes = new ArrayList<String>();
+            var placed = new ArrayList<OrderDefinition>();
+            try{
+                for(var batch : batchOrders(orderDefinitions, maxTxSize)){
+                    submitSwaps(sender, batch, ttl, maxTxSize, txHashes, placed);
+                }
+            }catch(Exception e){
+                // batches and their halves are submitted in order, so the placed orders are a prefix of all orders
+                throw new BatchSubmissionException("Failed to swap batch after " + txHashes.size() + " transactions",
+                        txHashes, orderDefinitions.subList(placed.size(), orderDefinitions.size()), e);
+            }
+            return txHashes;
+        }catch(BatchSubmissionException e){
+            log.error("Failed to swap batch", e);
+            throw e;
+        }catch(Exception e){
+            log.error("Failed to swap batch", e);
+            throw new IllegalStateException("Failed to swap batch", e);
+        }
+    }
+    /*
+     * greedily groups orders into batches which fit in 1 transaction, based on the estimated size of each order.
+     * Orders are only combined if the metadata provider supports it
+     */
+    private List<List<OrderDefinition>> batchOrders(List<OrderDefinition> orderDefinitions, int maxTxSize) throws Exception {
+        var batches = new ArrayList<List<OrderDefinition>>();
+        var batch = new ArrayList<OrderDefinition>();
+        var batchSize = TX_SIZE_RESERVE;
+        for(var orderDefinition : orderDefinitions){
+            var orderSize = estimateOrderSize(orderDefinition);
+            if(!batch.isEmpty()){
+                var candidate = new ArrayList<>(batch);
+                candidate.add(orderDefinition);
+                var metadata = dexConfig.metadataProvider().toMetadata(candidate);
+                if(metadata == null || batchSize + orderSize + metadata.serialize().length > maxTxSize){
+                    batches.add(batch);
+                    batch = new ArrayList<>();
+                    batchSize = TX_SIZE_RESERVE;
+                }
+            }
+            batch.add(orderDefinition);
+            batchSize += orderSize;
+        }
+        if(!batch.isEmpty()){
+            batches.add(batch);
+        }
+        log.debug("Split " + orderDefinitions.size() + " orders into " + batches.size() + " transactions");
+        return batches;
+    }
+    /*
+     * size of the order output and its datum in the witness set
+     */
+    private int estimateOrderSize(OrderDefinition orderDefinition){
+        var datum = dexConfig.orderDefinitionProvider().toDatum(orderDefinition);
+        var tokenSize = StringUtils.isNotBlank(orderDefinition.getAssetInPolicyId()) && !StringUtils.equals(orderDefinition.getAssetInTokenName(), CardanoConstants.LOVELACE)
+                ? 28 + StringUtils.length(orderDefinition.getAssetInTokenName()) / 2 + 16
+                : 0;
+        return new Address(dexConfig.orderAddress()).getBytes().length
+                + 32 // datum hash
+                + 16 // lovelace and CBOR overhead
+                + tokenSize
+                + datum.serializeToHex().length() / 2;
+    }
+    /*
+     * builds, submits and confirms 1 transaction with all given orders, adding it to `txHashes` and its orders to `placed` once confirmed.
+     * If the transaction exceeds the max size, the orders are split in halves
+     */
+    private void submitSwaps(Account sender, List<OrderDefinition> orderDefinitions, Long ttl, int maxTxSize, List<String> txHashes, List<OrderDefinition> placed) throws Exception {
+        var transaction = composeSwap(sender, orderDefinitions, ttl).buildAndSign();
+        var txBytes = transaction.serialize();
+        if(txBytes.length > maxTxSize && orderDefinitions.size() > 1){
+            log.debug("Transaction with " + orderDefinitions.size() + " orders exceeds max size [" + txBytes.length + " > " + maxTxSize + "], splitting...");
+            var half = orderDefinitions.size() / 2;
+            submitSwaps(sender, orderDefinitions.subList(0, half), ttl, maxTxSize, txHashes, placed);
+            submitSwaps(sender, orderDefinitions.subList(half, orderDefinitions.size()), ttl, maxTxSize, txHashes, placed);
+            return;
+        }
+        var txHash = submit(transaction);
+        log.debug("Submitted swap transaction [" + txHash + "] with " + orderDefinitions.size() + " orders");
+        waitForConfirmation(txHash);
+        txHashes.add(txHash);
+        placed.addAll(orderDefinitions);
+    }
+    /*
+     * composes 1 transaction paying 1 output w datum to the order address per order
+     */
+    private QuickTxBuilder.TxContext composeSwap(Account sender, List<OrderDefinition> orderDefinitions, Long ttl) {
+        return composeSwap(sender, orderDefinitions, ttl, new DefaultUtxoSupplier(backendService.getUtxoService()));
+    }
+    private QuickTxBuilder.TxContext composeSwap(Account sender, List<OrderDefinition> orderDefinitions, Long ttl, UtxoSupplier utxoSupplier) {
+        var metadata = dexConfig.metadataProvider().toMetadata(orderDefinitions);
+        if(metadata == null){
+            throw new IllegalArgumentException("Metadata provider doesn't support " + orderDefinitions.size() + " orders in 1 transaction");
+        }
+        var tx = new Tx();
+        var datums = new ArrayList<PlutusData>();
+        for(var orderDefinition : orderDefinitions){
+            var datum = dexConfig.orderDefinitionProvider().toDatum(orderDefinition);
+            tx.payToContract(dexConfig.orderAddress(), getOrderAmounts(orderDefinition), datum.getDatumHash());
+            datums.add(datum);
+        }
+        tx.attachMetadata(metadata)
+                .from(sender.baseAddress());
+
+        byte[] scriptDataHash;
+        try{
+            scriptDataHash = ScriptDataHashGenerator.generate(Collections.emptyList(),
+                    datums, CostModelUtil.getLanguageViewsEncoding(dexConfig.costModel()));
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to generate script data hash", e);
+        }
+
+        return newTxBuilder(utxoSupplier).compose(tx)
+                .withUtxoSelectionStrategy(new RandomImproveUtxoSelectionStrategy(utxoSupplier, false))
+                .withSigner(SignerProviders.signerFrom(sender))
+                .preBalanceTx((txBuilderContext, transaction) -> {
+                    transaction.getWitnessSet().getPlutusDataList().addAll(datums);
+                    transaction.getBody().setScriptDataHash(scriptDataHash);
+                    if(ttl != null){
+                        transaction.getBody().setTtl(ttl);
+                    }
+                })
+                .mergeOutputs(false)
+                .withTxInspector(txn -> log.debug("tx: " + JsonUtil.getPrettyJson(txn)));
+    }
+    private List<Amount> getOrderAmounts(OrderDefinition orderDefinition){
+        var amountInPolicyId = orderDefinition.getAssetInPolicyId();
+        var amountInTokenName = orderDefinition.getAssetInTokenName();
+        var amountIn = orderDefinition.getAmountIn();
+        var lovelaceAmount = Amount.lovelace(BigIntegerUtil.sum(StringUtils.isBlank(amountInPolicyId) && StringUtils.equals(amountInTokenName, CardanoConstants.LOVELACE) ? amountIn : BigInteger.ZERO, dexConfig.outputLovelace(), dexConfig.swapFee()));
+        var otherAmount = StringUtils.isNotBlank(amountInPolicyId) && !StringUtils.equals(amountInTokenName, CardanoConstants.LOVELACE)
+                ? Amount.asset(TokenUtil.getUnit(amountInPolicyId, amountInTokenName), amountIn)
+                : null;
+        var amounts = new ArrayList<Amount>();
+        amounts.add(lovelaceAmount);
+        if(otherAmount != null){
+            amounts.add(otherAmount);
+        }
+        return amounts;
+    }
+    private int getMaxTxSize() {
+        var maxTxSize = getProtocolParams().getMaxTxSize();
+        if(maxTxSize == null){
+            throw new IllegalStateException("No max tx size in protocol parameters");
+        }
+        return maxTxSize;
+    }
+    private ProtocolParams getProtocolParams() {
+        try{
+            var protocolParams = backendService.getEpochService().getProtocolParameters();
+            if(!protocolParams.isSuccessful() || protocolParams.getValue() == null){
+                throw new IllegalStateException("Failed to fetch protocol parameters - " + protocolParams.getResponse());
+            }
+            return protocolParams.getValue();
+        }catch(ApiException e){
+            throw new IllegalStateException("Failed to fetch protocol parameters", e);
+        }
+    }
+    private QuickTxBuilder newTxBuilder(UtxoSupplier utxoSupplier) {
+        return new QuickTxBuilder(utxoSupplier,
+                new DefaultProtocolParamsSupplier(backendService.getEpochService()),
+                new DefaultTransactionProcessor(transactionService));
+    }
+    private String submit(Transaction transaction) throws Exception {
+        var result = transactionService.submitTransaction(transaction.serialize());
+        if(!result.isSuccessful()){
+            throw new IllegalStateException("Failed to submit transaction - " + result.getResponse());
+        }
+        return result.getValue();
+    }
+    /*
+     * waits until the transaction is included in a block, like QuickTxBuilder.completeAndWait.
+     * Fails if the transaction is rejected or not included in time, as its inputs can't be considered spent
+     */
+    private void waitForConfirmation(String txHash){
+        waitForConfirmation(new PendingTx(txHash, confirmationPoller.track(txHash, CONFIRMATION_TIMEOUT)));
+    }
+    private void waitForConfirmation(PendingTx pendingTx){
+        try{
+            pendingTx.confirmation().get();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for transaction [" + pendingTx.txHash() + "]", e);
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Transaction [" + pendingTx.txHash() + "] not confirmed - " + ExceptionUtils.getMessage(e.getCause()), e.getCause());
+        }
+    }
+    /*
+     * the confirmation can't be expected after the ttl, a margin of 1 poll interval covers the block being fetched
+     */
+    private PendingTx track(String txHash, Duration invalidAfter){
+        var timeout = invalidAfter != null
+                ? invalidAfter.plus(TxConfirmationPoller.DEFAULT_POLL_INTERVAL)
+                : CONFIRMATION_TIMEOUT;
+        return new PendingTx(txHash, confirmationPoller.track(txHash, timeout));
+    }
+    private PendingTx register(WalletSession session, Transaction transaction, Duration invalidAfter) throws Exception {
+        var pendingTx = track(submit(transaction), invalidAfter);
+        session.register(pendingTx.txHash(), transaction, pendingTx.confirmation());
+        return pendingTx;
     }
     @Override
     public UtxoOrder getOrder(String transactionId) {
@@ -376,63 +844,89 @@ public class DexImpl implements Dex {
     }
     @Override
     public OrderBook getOpenOrders(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName){
+        var sync = this.orderSync;
+        if(sync != null && sync.isRunning() && sync.getLastHeight() >= 0){
+            return sync.getOrderBook(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName, getAssetDecimals(TokenUtil.getUnit(assetAPolicyId, assetATokenName)), getAssetDecimals(TokenUtil.getUnit(assetBPolicyId, assetBTokenName)));
+        }
         try{
-            var swapFee = dexConfig.swapFee();
-            var returnLovelace = dexConfig.outputLovelace();
-            var minAda = BigIntegerUtil.sum(swapFee, returnLovelace);
-
-            var utxos = getUtxos(dexConfig.orderAddress(), utxo -> {
-                if(StringUtils.isBlank(utxo.getDataHash())){
-                    return false;
-                }
-                var checkSell = utxo.getAmount().stream()
-                        .filter(amount -> TokenUtil.equals(TokenUtil.getUnit(assetBPolicyId, assetBTokenName), amount.getUnit()))
-                        .filter(amount -> amount.getQuantity() != null && BigIntegerUtil.isPositive(amount.getQuantity()))
-                        .filter(amount -> !TokenUtil.equals(TokenUtil.getUnit(null, CardanoConstants.LOVELACE), amount.getUnit())
-                                || amount.getQuantity().compareTo(minAda) > 0)
-                        .findFirst()
-                        .isPresent();
-                var checkBuy = !checkSell
-                        && utxo.getAmount().stream()
-                            .filter(amount -> TokenUtil.equals(TokenUtil.getUnit(assetAPolicyId, assetATokenName), amount.getUnit()))
-                            .filter(amount -> amount.getQuantity() != null && BigIntegerUtil.isPositive(amount.getQuantity()))
-                            .filter(amount -> !TokenUtil.equals(TokenUtil.getUnit(null, CardanoConstants.LOVELACE), amount.getUnit())
-                                    || amount.getQuantity().compareTo(minAda) > 0)
-                            .findFirst()
-                            .isPresent();
-                return checkBuy || checkSell;
-            });
+            var unitA = TokenUtil.getUnit(assetAPolicyId, assetATokenName);
+            var unitB = TokenUtil.getUnit(assetBPolicyId, assetBTokenName);
+            var utxos = getUtxos(dexConfig.orderAddress(), utxo -> isPairOrderUtxo(utxo, unitA, unitB));
 
             log.debug("Selected [" + utxos.size() + "] UTXOs");
 
-            var utxoOrders = utxos.stream().map(this::buildOrder)
-                    .filter(it -> it.orderDefinition() != null)
-                    .toList();
+            var utxoOrders = buildOrders(utxos);
 
             log.debug("converted [" + utxoOrders.size() + "] UTXOs to orders");
 
-            var buyUtxos = utxoOrders.stream()
-                    .filter(it -> TokenUtil.equals(it.orderDefinition().getAssetInPolicyId(), assetAPolicyId)
-                            && TokenUtil.equals(it.orderDefinition().getAssetInTokenName(), assetATokenName)
-                            && TokenUtil.equals(it.orderDefinition().getAssetOutPolicyId(), assetBPolicyId)
-                            && TokenUtil.equals(it.orderDefinition().getAssetOutTokenName(), assetBTokenName))
-                    .collect(Collectors.toList());
-            var sellUtxos = utxoOrders.stream()
-                    .filter(it -> TokenUtil.equals(it.orderDefinition().getAssetInPolicyId(), assetBPolicyId)
-                            && TokenUtil.equals(it.orderDefinition().getAssetInTokenName(), assetBTokenName)
-                            && TokenUtil.equals(it.orderDefinition().getAssetOutPolicyId(), assetAPolicyId)
-                            && TokenUtil.equals(it.orderDefinition().getAssetOutTokenName(), assetATokenName))
-                    .collect(Collectors.toList());
+            var orderBook = OrderBook.of(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName, utxoOrders, getAssetDecimals(TokenUtil.getUnit(assetAPolicyId, assetATokenName)), getAssetDecimals(TokenUtil.getUnit(assetBPolicyId, assetBTokenName)));
 
-            log.debug("converted [" + utxoOrders.size() + "] UTXOs to " + buyUtxos.size() + " buy orders and " + sellUtxos.size() + " sell orders...");
+            log.debug("converted [" + utxoOrders.size() + "] UTXOs to " + orderBook.getBuyOrder().size() + " buy orders and " + orderBook.getSellOrder().size() + " sell orders...");
 
-            return new OrderBook(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName, buyUtxos, sellUtxos, getAssetDecimals(TokenUtil.getUnit(assetAPolicyId, assetATokenName)), getAssetDecimals(TokenUtil.getUnit(assetBPolicyId, assetBTokenName)));
+            return orderBook;
 
         }catch(Exception e){
             log.warn("Failed to get open orders for " + assetAPolicyId + " - " + assetATokenName + " vs " + assetBPolicyId + " - " + assetBTokenName, e);
             throw new IllegalStateException("Failed to get open orders for " + assetAPolicyId + " - " + assetATokenName + " vs " + assetBPolicyId + " - " + assetBTokenName, e);
         }
     }
+    @Override
+    public Map<AssetPair, OrderBook> getAllOpenOrders(){
+        try{
+            var sync = this.orderSync;
+            var orders = sync != null && sync.isRunning() && sync.getLastHeight() >= 0
+                    ? sync.getOrders()
+                    : loadOpenOrders();
+            var grouped = OrderBook.groupByPair(orders);
+            var units = grouped.keySet().stream()
+                    .flatMap(pair -> Stream.of(pair.assetA(), pair.assetB()))
+                    .collect(Collectors.toSet());
+            var decimals = assetDecimalsRegistry.getDecimals(units, getExecutor());
+
+            var index = OrderBook.index(orders, unit -> decimals.get(unit).orElse(getDefaultDecimals()));
+
+            log.debug("converted [" + orders.size() + "] orders to " + index.size() + " order books");
+
+            return index;
+        }catch(Exception e){
+            log.warn("Failed to get all open orders", e);
+            throw new IllegalStateException("Failed to get all open orders", e);
+        }
+    }
+    /*
+     * an order UTxO of a pair holds a positive amount of either asset, lovelace only counts above the swap fee and return lovelace.
+     * Shared by the full scan and the order sync, so both return the same orders
+     */
+    private boolean isPairOrderUtxo(Utxo utxo, String unitA, String unitB){
+        if(StringUtils.isBlank(utxo.getDataHash())){
+            return false;
+        }
+        var minAda = BigIntegerUtil.sum(dexConfig.swapFee(), dexConfig.outputLovelace());
+        return utxo.getAmount().stream()
+                .filter(amount -> TokenUtil.equals(unitA, amount.getUnit()) || TokenUtil.equals(unitB, amount.getUnit()))
+                .filter(amount -> amount.getQuantity() != null && BigIntegerUtil.isPositive(amount.getQuantity()))
+                .anyMatch(amount -> !TokenUtil.equals(TokenUtil.getUnit(null, CardanoConstants.LOVELACE), amount.getUnit())
+                        || amount.getQuantity().compareTo(minAda) > 0);
+    }
+    /*
+     * all orders at the order address with a valid order definition, in 1 scan
+     */
+    private List<UtxoOrder> loadOpenOrders(){
+        var utxos = getUtxos(dexConfig.orderAddress(), utxo -> StringUtils.isNotBlank(utxo.getDataHash()));
+
+        log.debug("Selected [" + utxos.size() + "] UTXOs");
+
+        return buildOrders(utxos);
+    }
+    /*
+     * resolves the datums of the orders concurrently, bounded by fetchConcurrency. Orders without definition are dropped, the order of utxos is kept
+     */
+    private List<UtxoOrder> buildOrders(List<Utxo> utxos){
+        return ConcurrencyUtil.map(utxos, this::buildOrder, dexOptions.fetchConcurrency(), dexOptions.fetchConcurrency() > 1 ? getExecutor() : null)
+                .stream()
+                .filter(it -> it.orderDefinition() != null)
+                .toList();
+    }
     private UtxoOrder buildOrder(Utxo utxo){
         var definition = buildOrderDefinition(utxo);
         return new UtxoOrder(utxo, definition);
@@ -460,7 +954,7 @@ public class DexImpl implements Dex {
     }
     private List<Utxo> getUtxos(String address, Predicate<Utxo> predicate, int page, List<Utxo> fetched){
         try{
-            var pageUtxos = utxoService.getUtxos(address, 100, page);
+            var pageUtxos = utxoService.getUtxos(address, PAGE_SIZE, page);
             if(pageUtxos == null || pageUtxos.getValue() == null || pageUtxos.getValue().isEmpty()){
                 return fetched;
             }
@@ -488,73 +982,198 @@ public class DexImpl implements Dex {
         }
     }
     private PlutusData getDatum(String datumHash){
-        JsonNode json = null;
+        return datumResolver.resolve(datumHash);
+    }
+    @Override
+    public String cancelSwap(Account sender, Utxo orderUtxo, Duration invalidAfter) {
         try{
-            json = scriptService.getScriptDatum(datumHash).getValue().getJsonValue();
-            return PlutusDataJsonConverter.toPlutusData(json);
+            var result = composeCancel(sender, orderUtxo, invalidAfter).completeAndWait(log::debug);
+            log.debug("result: " + result);
+            return result.getValue();
+
         }catch(Exception e){
-            throw new IllegalStateException("Failed to get datum for hash [" + datumHash + "] w json [" + (json != null ? json.asText() : null), e);
+            throw new IllegalStateException("Failed to cancel swap for utxo [" + orderUtxo + "]", e);
         }
     }
-    private String getScriptData(String scriptAddress){
+    @Override
+    public PendingTx cancelSwapAsync(Account sender, Utxo orderUtxo, Duration invalidAfter) {
         try{
-            var scriptHash = AddressUtil.getScriptHashFromAddress(scriptAddress);
-            return scriptService.getPlutusScriptCbor(scriptHash).getValue();
-        }catch (Exception e){
-            throw new IllegalStateException("Failed to get script data for " + scriptAddress, e);
+            var transaction = composeCancel(sender, orderUtxo, invalidAfter).buildAndSign();
+            return track(submit(transaction), invalidAfter);
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to cancel swap for utxo [" + orderUtxo + "]", e);
         }
     }
     @Override
-    public String cancelSwap(Account sender, Utxo orderUtxo, Duration invalidAfter) {
+    public PendingTx cancelSwapAsync(WalletSession session, Utxo orderUtxo, Duration invalidAfter) {
         try{
+            var transaction = composeCancel(session, List.of(orderUtxo), invalidAfter).buildAndSign();
+            return register(session, transaction, invalidAfter);
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to cancel swap for utxo [" + orderUtxo + "]", e);
+        }
+    }
+    @Override
+    public List<String> cancelSwaps(Account sender, List<Utxo> orderUtxos, Duration invalidAfter) {
+        ProtocolParams protocolParams;
+        WalletSession session;
+        try{
+            protocolParams = getProtocolParams();
+            session = openSession(sender);
+            // resolved once for all transactions, before any of them is pending
+            getCollateral(session);
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to cancel swaps for " + orderUtxos.size() + " utxos", e);
+        }
+        var submitted = new ArrayList<Tuple<PendingTx, List<Utxo>>>();
+        var failures = new ArrayList<Exception>();
+        try{
+            submitCancels(session, orderUtxos, invalidAfter, protocolParams, submitted);
+        }catch(Exception e){
+            failures.add(e);
+        }
+        var txHashes = new ArrayList<String>();
+        var cancelled = new HashSet<String>();
+        for(var tx : submitted){
+            try{
+                waitForConfirmation(tx._1);
+                txHashes.add(tx._1.txHash());
+                tx._2.forEach(utxo -> cancelled.add(utxo.getTxHash() + "#" + utxo.getOutputIndex()));
+            }catch(IllegalStateException e){
+                failures.add(e);
+            }
+        }
+        if(!failures.isEmpty()){
+            var remaining = orderUtxos.stream()
+                    .filter(utxo -> !cancelled.contains(utxo.getTxHash() + "#" + utxo.getOutputIndex()))
+                    .toList();
+            var exception = new BatchSubmissionException("Failed to cancel " + remaining.size() + " of " + orderUtxos.size() + " orders",
+                    txHashes, remaining, failures.get(0));
+            failures.stream().skip(1).forEach(exception::addSuppressed);
+            log.error("Failed to cancel swaps", exception);
+            throw exception;
+        }
+        return txHashes;
+    }
+    /*
+     * builds and submits 1 transaction cancelling all given orders. If the script evaluation reports a script or budget failure or the transaction exceeds the size or execution unit limits,
+     * the orders are split in halves. Transactions are chained in the wallet session, so the next one doesn't wait for the confirmation of the previous one
+     */
+    private void submitCancels(WalletSession session, List<Utxo> orderUtxos, Duration invalidAfter, ProtocolParams protocolParams, List<Tuple<PendingTx, List<Utxo>>> submitted) throws Exception {
+        Transaction transaction;
+        try{
+            transaction = composeCancel(session, orderUtxos, invalidAfter).buildAndSign();
+        }catch(Exception e){
+            if(orderUtxos.size() == 1 || !isEvaluationFailure(e)){
+                throw e;
+            }
+            log.debug("Failed to evaluate transaction cancelling " + orderUtxos.size() + " orders, splitting... - " + ExceptionUtils.getMessage(e));
+            transaction = null;
+        }
+        if(transaction != null && (orderUtxos.size() == 1 || withinLimits(transaction, protocolParams))){
+            var pendingTx = register(session, transaction, invalidAfter);
+            log.debug("Submitted cancel transaction [" + pendingTx.txHash() + "] with " + orderUtxos.size() + " orders");
+            submitted.add(new Tuple<>(pendingTx, orderUtxos));
+            return;
+        }
+        var half = orderUtxos.size() / 2;
+        submitCancels(session, orderUtxos.subList(0, half), invalidAfter, protocolParams, submitted);
+        submitCancels(session, orderUtxos.subList(half, orderUtxos.size()), invalidAfter, protocolParams, submitted);
+    }
+    /*
+     * too many scripts in 1 transaction fail the script cost evaluation with an explicit script or budget failure (e.g. `EvaluationFailure` with `ScriptFailures`).
+     * Anything else, like an unavailable evaluator ("Failed to evaluate tx: 500 ...") or a network failure, is not resolved by splitting and fails fast
+     */
+    private static boolean isEvaluationFailure(Exception e){
+        var causes = ExceptionUtils.getThrowableList(e);
+        if(causes.stream().anyMatch(IOException.class::isInstance)){
+            return false;
+        }
+        return causes.stream()
+                .map(Throwable::getMessage)
+                .anyMatch(message -> SCRIPT_FAILURE_MARKERS.stream().anyMatch(marker -> StringUtils.containsIgnoreCase(message, marker)));
+    }
+    /*
+     * the collateral of a session is resolved once. A new collateral is funded from confirmed UTxOs, which would conflict with pending transactions
+     */
+    private Collateral getCollateral(WalletSession session){
+        synchronized (session){
+            var collateral = session.getCollateral();
+            if(collateral == null){
+                var sender = session.getAccount();
+                collateral = session.getPendingCount() == 0
+                        ? collateralProvider.create(sender)
+                        : collateralProvider.get(sender.baseAddress());
+                if(collateral == null || session.isSpent(collateral.utxoHash(), collateral.utxoIndex())){
+                    throw new IllegalStateException("No collateral available for " + sender.baseAddress() + " while transactions are pending");
+                }
+                session.setCollateral(collateral);
+            }
+            return collateral;
+        }
+    }
+    private static boolean withinLimits(Transaction transaction, ProtocolParams protocolParams) throws Exception {
+        if(protocolParams.getMaxTxSize() != null && transaction.serialize().length > protocolParams.getMaxTxSize()){
+            return false;
+        }
+        var redeemers = transaction.getWitnessSet().getRedeemers();
+        if(redeemers == null){
+            return true;
+        }
+        var mem = BigInteger.ZERO;
+        var steps = BigInteger.ZERO;
+        for(var redeemer : redeemers){
+            if(redeemer.getExUnits() != null){
+                mem = mem.add(redeemer.getExUnits().getMem());
+                steps = steps.add(redeemer.getExUnits().getSteps());
+            }
+        }
+        return (StringUtils.isBlank(protocolParams.getMaxTxExMem()) || mem.compareTo(new BigInteger(protocolParams.getMaxTxExMem())) <= 0)
+                && (StringUtils.isBlank(protocolParams.getMaxTxExSteps()) || steps.compareTo(new BigInteger(protocolParams.getMaxTxExSteps())) <= 0);
+    }
+    private QuickTxBuilder.TxContext composeCancel(Account sender, Utxo orderUtxo, Duration invalidAfter) {
+        return composeCancel(sender, List.of(orderUtxo), invalidAfter, new DefaultUtxoSupplier(backendService.getUtxoService()), collateralProvider.create(sender));
+    }
+    private QuickTxBuilder.TxContext composeCancel(WalletSession session, List<Utxo> orderUtxos, Duration invalidAfter) {
+        return composeCancel(session.getAccount(), orderUtxos, invalidAfter, session.getUtxoSupplier(), getCollateral(session));
+    }
+    /*
+     * composes 1 script transaction spending all given order UTxOs, refunding each to the sender
+     */
+    private QuickTxBuilder.TxContext composeCancel(Account sender, List<Utxo> orderUtxos, Duration invalidAfter, UtxoSupplier utxoSupplier, Collateral collateral) {
+        var scriptTx = new ScriptTx();
+        var orderDatums = new ArrayList<PlutusData>();
+        for(var orderUtxo : orderUtxos){
             log.info("UTXO [" + orderUtxo + "] will be cancelled...");
             var definition = buildOrderDefinition(orderUtxo);
             if(definition == null){
                 throw new IllegalArgumentException("Failed to build definition for [" + orderUtxo + "]");
             }
-            var orderDatum = dexConfig.orderDefinitionProvider().toDatum(definition);
-            var redeemerDatum = dexConfig.orderDefinitionProvider().toRedeemerDatum(definition);
-
-            var scriptData = getScriptData(dexConfig.orderAddress());
-            var dexScript = StringUtils.isNotBlank(scriptData)
-                    ? Language.PLUTUS_V1.equals(dexConfig.plutusLanguage())
-                        ? PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(scriptData, PlutusVersion.v1)
-                        : PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(scriptData, PlutusVersion.v2)
-                : null;
-            log.debug("dex script: " + dexScript);
-
-            ScriptTx scriptTx = new ScriptTx()
-                    .collectFrom(orderUtxo, redeemerDatum)
-                    .payToAddress(sender.baseAddress(), orderUtxo.getAmount())
-                    .attachMetadata(MessageMetadata.create().add("JADEX: cancel order"))
-                    .attachSpendingValidator(dexScript);
-
-            var collateral = this.collateralProvider.create(sender);
-
-            QuickTxBuilder quickTxBuilder = new QuickTxBuilder(backendService);
-            var builder = quickTxBuilder.compose(scriptTx)
-                    .withUtxoSelectionStrategy(new RandomImproveUtxoSelectionStrategy(new DefaultUtxoSupplier(backendService.getUtxoService()), false))
-                    .feePayer(sender.baseAddress())
-                    .withSigner(SignerProviders.signerFrom(sender.hdKeyPair()))
-                    .withCollateralInputs(TransactionInput.builder().transactionId(collateral.utxoHash()).index(collateral.utxoIndex()).build())
-                    .withRequiredSigners(new Address(sender.baseAddress()))
-                    .preBalanceTx((txBuilderContext, transaction) -> {
-//                        transaction.getBody().setRequiredSigners(List.of(new Address(sender.baseAddress()).getPaymentCredentialHash().orElseThrow()));
-                        transaction.getWitnessSet().getPlutusDataList().add(orderDatum);
-                        if(invalidAfter != null){
-                            transaction.getBody().setTtl(getTtl(invalidAfter));
-                        }
-                    })
-                    .mergeOutputs(false)
-                    .withTxInspector(txn -> log.debug("tx: " + JsonUtil.getPrettyJson(txn)));
-
-            var result = builder.completeAndWait(log::debug);
-            log.debug("result: " + result);
-            return result.getValue();
-
-        }catch(Exception e){
-            throw new IllegalStateException("Failed to cancel swap for utxo [" + orderUtxo + "]", e);
+            orderDatums.add(dexConfig.orderDefinitionProvider().toDatum(definition));
+            scriptTx.collectFrom(orderUtxo, dexConfig.orderDefinitionProvider().toRedeemerDatum(definition))
+                    .payToAddress(sender.baseAddress(), orderUtxo.getAmount());
         }
+
+        var dexScript = scriptRegistry.getScript(dexConfig.orderAddress(), dexConfig.plutusLanguage());
+
+        scriptTx.attachMetadata(MessageMetadata.create().add(orderUtxos.size() == 1 ? "JADEX: cancel order" : "JADEX: cancel " + orderUtxos.size() + " orders"))
+                .attachSpendingValidator(dexScript);
+
+        return newTxBuilder(utxoSupplier).compose(scriptTx)
+                .withUtxoSelectionStrategy(new RandomImproveUtxoSelectionStrategy(utxoSupplier, false))
+                .feePayer(sender.baseAddress())
+                .withSigner(SignerProviders.signerFrom(sender.hdKeyPair()))
+                .withCollateralInputs(TransactionInput.builder().transactionId(collateral.utxoHash()).index(collateral.utxoIndex()).build())
+                .withRequiredSigners(new Address(sender.baseAddress()))
+                .preBalanceTx((txBuilderContext, transaction) -> {
+//                    transaction.getBody().setRequiredSigners(List.of(new Address(sender.baseAddress()).getPaymentCredentialHash().orElseThrow()));
+                    transaction.getWitnessSet().getPlutusDataList().addAll(orderDatums);
+                    if(invalidAfter != null){
+                        transaction.getBody().setTtl(getTtl(invalidAfter));
+                    }
+                })
+                .mergeOutputs(false)
+                .withTxInspector(txn -> log.debug("tx: " + JsonUtil.getPrettyJson(txn)));
     }
     private long getTtl(Duration duration) {
         try{
@@ -0,0 +1,216 @@
+package com.bloxbean.cardano.jadex.core.aggregator;
+
+import com.bloxbean.cardano.client.backend.api.BackendService;
+import com.bloxbean.cardano.jadex.core.Dex;
+import com.bloxbean.cardano.jadex.core.DexImpl;
+import com.bloxbean.cardano.jadex.core.config.DexConfig;
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import com.bloxbean.cardano.jadex.core.util.BigIntegerUtil;
+import com.bloxbean.cardano.jadex.core.util.ConcurrencyUtil;
+import com.bloxbean.cardano.jadex.core.util.OrderUtil;
+import com.bloxbean.cardano.jadex.core.util.TokenUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Aggregates the liquidity of multiple {@link Dex Dex} venues, e.g. Minswap and Muesliswap.
+ * <p>
+ * The pools of all venues are queried in parallel. A swap is either executed on the venue with the highest output,
+ * or split over multiple venues using {@link OrderUtil#analyticSplit(String, BigInteger, List, java.math.BigDecimal) analyticSplit} when the combined output is higher.
+ * Note: batcher fees are paid per venue order and are not included in the comparison.
+ * <p>
+ * An aggregator created without executor owns a thread pool, which is released by {@link #close()}.
+ * Venues created by {@link #of(BackendService, DexConfig...) of} are owned by the aggregator as well and closed with it.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class AggregatorDex implements AutoCloseable {
+    private final Map<String, Dex> venues;
+    private final Executor executor;
+    private final Map<String, DexImpl> ownedVenues;
+    private ExecutorService ownedExecutor;
+    private boolean closed;
+
+    /**
+     * @param venues the venues to aggregate, by name
+     */
+    public AggregatorDex(Map<String, Dex> venues) {
+        this(venues, null);
+    }
+
+    /**
+     * @param venues the venues to aggregate, by name
+     * @param executor the executor for querying venues in parallel. If not provided, a fixed pool of daemon threads (1 per venue) is created on first use and shut down by {@link #close()}
+     */
+    public AggregatorDex(Map<String, Dex> venues, Executor executor) {
+        this(venues, executor, Map.of());
+    }
+
+    private AggregatorDex(Map<String, Dex> venues, Executor executor, Map<String, DexImpl> ownedVenues) {
+        if(venues == null || venues.isEmpty()){
+            throw new IllegalArgumentException("At least 1 venue is required");
+        }
+        this.venues = Collections.unmodifiableMap(new LinkedHashMap<>(venues));
+        this.executor = executor;
+        this.ownedVenues = ownedVenues;
+    }
+
+    /**
+     * Create an aggregator with a {@link DexImpl DexImpl} venue per config, named by its `dexType`. The venues are closed by {@link #close()}
+     *
+     * @param backendService the backend service used by all venues
+     * @param configs the DEX configs, e.g. {@link com.bloxbean.cardano.jadex.core.config.DexConfigs#MIN_CONFIG MIN_CONFIG}
+     * @return a new aggregator
+     */
+    public static AggregatorDex of(BackendService backendService, DexConfig... configs){
+        var venues = new LinkedHashMap<String, Dex>();
+        var ownedVenues = new LinkedHashMap<String, DexImpl>();
+        for(var config : configs){
+            var venue = new DexImpl(backendService, config);
+            venues.put(config.dexType(), venue);
+            ownedVenues.put(config.dexType(), venue);
+        }
+        return new AggregatorDex(venues, null, ownedVenues);
+    }
+
+    public Map<String, Dex> getVenues() {
+        return venues;
+    }
+
+    /**
+     * Shut down the thread pool and close the venues owned by this aggregator, if any. An executor or venues passed to the constructor are left running
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if(ownedExecutor != null){
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
+        }
+        ownedVenues.forEach((name, venue) -> {
+            try{
+                venue.close();
+            }catch(Exception e){
+                log.warn("Failed to close venue " + name, e);
+            }
+        });
+    }
+
+    /**
+     * Fetch the pool with the highest liquidity for given assets from all venues in parallel.
+     * Venues without a pool for the pair, or failing to fetch it, are left out.
+     *
+     * @param assetAPolicyId the policy ID of assetA
+     * @param assetATokenName the token name of assetA
+     * @param assetBPolicyId the policy ID of assetB
+     * @param assetBTokenName the token name of assetB
+     * @return the pool per venue name
+     */
+    public Map<String, PoolState> getPools(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName){
+        var futures = new LinkedHashMap<String, CompletableFuture<PoolState>>();
+        venues.forEach((venue, dex) -> futures.put(venue,
+                CompletableFuture.supplyAsync(() -> dex.getPool(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName), getExecutor())));
+        var pools = new LinkedHashMap<String, PoolState>();
+        futures.forEach((venue, future) -> {
+            try{
+                var pool = future.join();
+                if(pool != null){
+                    pools.put(venue, pool);
+                }
+            }catch(Exception e){
+                log.warn("Skipping venue " + venue + ", failed to fetch pool", e);
+            }
+        });
+        return pools;
+    }
+
+    /**
+     * Find the best execution of a swap over all venues
+     *
+     * @param assetInPolicyId the policy ID of the asset to swap
+     * @param assetInTokenName the token name of the asset to swap
+     * @param assetOutPolicyId the policy ID of the asset to receive
+     * @param assetOutTokenName the token name of the asset to receive
+     * @param amountIn the amount of assetIn
+     * @return the plan with the highest output or null if no venue has a pool for the pair
+     */
+    public ExecutionPlan getBestExecution(String assetInPolicyId, String assetInTokenName, String assetOutPolicyId, String assetOutTokenName, BigInteger amountIn){
+        var pools = getPools(assetInPolicyId, assetInTokenName, assetOutPolicyId, assetOutTokenName);
+        return plan(TokenUtil.getUnit(assetInPolicyId, assetInTokenName), TokenUtil.getUnit(assetOutPolicyId, assetOutTokenName), amountIn, pools);
+    }
+
+    /**
+     * Compare the best single venue with a split over all venues
+     *
+     * @param assetIn the unit of the asset to swap
+     * @param assetOut the unit of the asset to receive
+     * @param amountIn the amount of assetIn
+     * @param pools the pool per venue name
+     * @return the plan with the highest output or null if no pool can be used
+     */
+    public static ExecutionPlan plan(String assetIn, String assetOut, BigInteger amountIn, Map<String, PoolState> pools){
+        if(!BigIntegerUtil.isPositive(amountIn)){
+            throw new IllegalArgumentException("amountIn must be positive");
+        }
+        ExecutionPlan best = null;
+        for(var entry : pools.entrySet()){
+            var order = order(entry.getKey(), entry.getValue(), assetIn, amountIn);
+            if(order != null && (best == null || order.amountOut().compareTo(best.amountOut()) > 0)){
+                best = new ExecutionPlan(assetIn, assetOut, amountIn, order.amountOut(), List.of(order));
+            }
+        }
+        if(best == null || pools.size() < 2){
+            return best;
+        }
+
+        var venueByPoolId = new HashMap<String, String>();
+        pools.forEach((venue, pool) -> venueByPoolId.put(pool.id(), venue));
+        var split = OrderUtil.analyticSplit(assetIn, amountIn, pools.values().stream().map(PoolState::getPool).toList(), null);
+        var orders = new ArrayList<VenueOrder>();
+        for(var part : split){
+            var venue = venueByPoolId.get(part.getPoolId());
+            var order = venue != null ? order(venue, pools.get(venue), assetIn, part.getAmountIn()) : null;
+            if(order == null){
+                return best;
+            }
+            orders.add(order);
+        }
+        var amountOut = orders.stream()
+                .map(VenueOrder::amountOut)
+                .reduce(BigInteger.ZERO, BigInteger::add);
+        if(orders.size() > 1 && amountOut.compareTo(best.amountOut()) > 0){
+            orders.sort(Comparator.comparing(VenueOrder::amountIn).reversed());
+            return new ExecutionPlan(assetIn, assetOut, amountIn, amountOut, List.copyOf(orders));
+        }
+        return best;
+    }
+
+    private static VenueOrder order(String venue, PoolState pool, String assetIn, BigInteger amountIn){
+        try{
+            var swap = pool.getAmountOut(assetIn, amountIn);
+            return new VenueOrder(venue, pool, amountIn, swap.amount(), swap.priceImpact());
+        }catch(RuntimeException e){
+            log.warn("Skipping venue " + venue + ", failed to quote pool " + pool.id(), e);
+            return null;
+        }
+    }
+
+    private synchronized Executor getExecutor() {
+        if(executor != null){
+            return executor;
+        }
+        if(closed){
+            throw new IllegalStateException("Aggregator is closed");
+        }
+        if(ownedExecutor == null){
+            ownedExecutor = ConcurrencyUtil.newDaemonExecutor(venues.size(), "jadex-aggregator");
+        }
+        return ownedExecutor;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bloxbean.cardano.jadex.core.aggregator;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * The best execution of a swap over 1 or more venues, found by {@link AggregatorDex AggregatorDex}
+ *
+ * @param assetIn the unit of the asset to swap
+ * @param assetOut the unit of the asset to receive
+ * @param amountIn the total amount of assetIn
+ * @param amountOut the total expected amount of assetOut
+ * @param orders the swap per venue, largest first
+ *
+ * @author $stik
+ */
+public record ExecutionPlan(String assetIn,
+                            String assetOut,
+                            BigInteger amountIn,
+                            BigInteger amountOut,
+                            List<VenueOrder> orders) {
+
+    /**
+     * @return true if the swap is split over multiple venues
+     */
+    public boolean isSplit(){
+        return orders.size() > 1;
+    }
+}
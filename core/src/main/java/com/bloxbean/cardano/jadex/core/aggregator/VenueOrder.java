@@ -0,0 +1,24 @@
+package com.bloxbean.cardano.jadex.core.aggregator;
+
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The part of an {@link ExecutionPlan ExecutionPlan} executed on 1 venue
+ *
+ * @param venue the name of the venue (DEX)
+ * @param pool the pool of the venue used for the swap
+ * @param amountIn the amount of assetIn to swap on this venue
+ * @param amountOut the expected amount of assetOut
+ * @param priceImpact the price impact of this swap
+ *
+ * @author $stik
+ */
+public record VenueOrder(String venue,
+                         PoolState pool,
+                         BigInteger amountIn,
+                         BigInteger amountOut,
+                         BigDecimal priceImpact) {
+}
@@ -0,0 +1,180 @@
+package com.bloxbean.cardano.jadex.core.asset;
+
+import com.bloxbean.cardano.client.backend.api.AssetService;
+import com.bloxbean.cardano.client.backend.api.BackendService;
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.jadex.core.util.ConcurrencyUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Thread-safe registry of asset decimals, resolved from the asset metadata.
+ * <p>
+ * Assets without decimals in their metadata are cached as well (as an empty result), so they are only fetched once.
+ * The registry can be preloaded from and persisted to a snapshot file, avoiding 1 backend request per asset on a cold start.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class AssetDecimalsRegistry {
+    private static final int LOVELACE_DECIMALS = 6;
+    private static final Map<BackendService, AssetDecimalsRegistry> REGISTRIES = new WeakHashMap<>();
+
+    private final AssetService assetService;
+    private final Map<String, OptionalInt> decimals = new ConcurrentHashMap<>();
+
+    public AssetDecimalsRegistry(AssetService assetService) {
+        this.assetService = assetService;
+    }
+
+    /**
+     * @param backendService the backend service
+     * @return the registry shared by all users of the given backend service
+     */
+    public static AssetDecimalsRegistry of(BackendService backendService){
+        synchronized (REGISTRIES){
+            return REGISTRIES.computeIfAbsent(backendService, it -> new AssetDecimalsRegistry(it.getAssetService()));
+        }
+    }
+
+    /**
+     * Get the decimals of an asset, fetching the asset metadata if not registered yet
+     *
+     * @param unit the asset unit (policy ID + hex encoded token name)
+     * @return the asset decimals or empty if the asset metadata has no decimals
+     */
+    public OptionalInt getDecimals(String unit){
+        if(StringUtils.equals(unit, CardanoConstants.LOVELACE)){
+            return OptionalInt.of(LOVELACE_DECIMALS);
+        }
+        var cached = decimals.get(unit);
+        if(cached != null){
+            return cached;
+        }
+        var result = fetchDecimals(unit);
+        decimals.put(unit, result);
+        return result;
+    }
+
+    /**
+     * Get the decimals of multiple assets, fetching the asset metadata of all assets which are not registered yet concurrently
+     *
+     * @param units the asset units
+     * @param executor the executor for fetching asset metadata, its pool size bounds the number of concurrent requests. If null, assets are fetched sequentially
+     * @return the asset decimals per unit, empty if the asset metadata has no decimals
+     */
+    public Map<String, OptionalInt> getDecimals(Collection<String> units, Executor executor){
+        var fetches = new LinkedHashMap<String, CompletableFuture<OptionalInt>>();
+        for(var unit : new LinkedHashSet<>(units)){
+            fetches.put(unit, contains(unit) || executor == null
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.supplyAsync(() -> getDecimals(unit), executor));
+        }
+        var result = new LinkedHashMap<String, OptionalInt>();
+        fetches.forEach((unit, fetch) -> {
+            var fetched = ConcurrencyUtil.join(fetch);
+            result.put(unit, fetched != null ? fetched : getDecimals(unit));
+        });
+        return result;
+    }
+
+    /**
+     * @param unit the asset unit
+     * @return true if the decimals (or the absence of decimals) of the asset are registered
+     */
+    public boolean contains(String unit){
+        return StringUtils.equals(unit, CardanoConstants.LOVELACE) || decimals.containsKey(unit);
+    }
+
+    /**
+     * @param unit the asset unit
+     * @param assetDecimals the asset decimals or empty if the asset has no decimals
+     */
+    public void put(String unit, OptionalInt assetDecimals){
+        decimals.put(unit, assetDecimals != null ? assetDecimals : OptionalInt.empty());
+    }
+
+    public int size(){
+        return decimals.size();
+    }
+
+    /**
+     * Register all assets from a snapshot file created by {@link #save(Path)}. Does nothing if the file doesn't exist.
+     *
+     * @param snapshot the snapshot file
+     * @return the number of assets loaded
+     */
+    public int load(Path snapshot){
+        if(!Files.exists(snapshot)){
+            return 0;
+        }
+        var properties = new Properties();
+        try(var reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)){
+            properties.load(reader);
+        }catch(IOException e){
+            throw new IllegalStateException("Failed to load asset decimals from " + snapshot, e);
+        }
+        var loaded = 0;
+        for(var unit : properties.stringPropertyNames()){
+            var value = properties.getProperty(unit);
+            try{
+                put(unit, StringUtils.isBlank(value) ? OptionalInt.empty() : OptionalInt.of(Integer.parseInt(value.trim())));
+                loaded++;
+            }catch(NumberFormatException e){
+                log.warn("Skipping invalid asset decimals [" + value + "] for " + unit);
+            }
+        }
+        log.debug("Loaded decimals of " + loaded + " assets from " + snapshot);
+        return loaded;
+    }
+
+    /**
+     * Store all registered assets in a snapshot file. Assets without decimals are stored with an empty value.
+     *
+     * @param snapshot the snapshot file
+     */
+    public void save(Path snapshot){
+        var properties = new Properties();
+        decimals.forEach((unit, assetDecimals) ->
+                properties.setProperty(unit, assetDecimals.isPresent() ? String.valueOf(assetDecimals.getAsInt()) : ""));
+        try{
+            var directory = snapshot.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // write to a temporary file first, so a failed write never corrupts an existing snapshot
+            var tempFile = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+            try(var writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)){
+                properties.store(writer, "asset decimals");
+            }
+            Files.move(tempFile, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(IOException e){
+            throw new IllegalStateException("Failed to save asset decimals to " + snapshot, e);
+        }
+    }
+
+    private OptionalInt fetchDecimals(String unit){
+        try{
+            var asset = assetService.getAsset(unit);
+            if(asset == null || asset.getValue() == null){
+                throw new IllegalStateException("No asset found for [" + unit + "]");
+            }
+            var metadata = asset.getValue().getMetadata();
+            return metadata != null && metadata.has("decimals")
+                    ? OptionalInt.of(metadata.get("decimals").intValue())
+                    : OptionalInt.empty();
+        }catch(IllegalStateException e){
+            throw e;
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to get asset decimals for [" + unit + "]", e);
+        }
+    }
+}
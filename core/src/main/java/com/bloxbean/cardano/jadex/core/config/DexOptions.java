@@ -0,0 +1,49 @@
+package com.bloxbean.cardano.jadex.core.config;
+
+import com.bloxbean.cardano.jadex.core.datum.DatumCache;
+import com.bloxbean.cardano.jadex.core.util.RateLimiter;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runtime options of a {@link com.bloxbean.cardano.jadex.core.DexImpl DexImpl}, independent of the DEX it is configured for.
+ * Options which are not set fall back to their default value, use {@link #defaults()} for an instance with default values only.
+ *
+ * @param poolIndexRefreshInterval the maximum age of the in-memory pool index before it is refreshed in the background. Defaults to 1 minute, {@link Duration#ZERO} disables the index so each pair lookup scans all pools
+ * @param fetchConcurrency the maximum number of concurrent backend requests when fetching pages or resolving order datums. Defaults to 1 (sequential fetching)
+ * @param executor optional executor for concurrent backend requests, e.g. a virtual thread executor. If not provided, a fixed pool of `fetchConcurrency` daemon threads is created when needed
+ * @param datumCache cache for pool and order datums. Defaults to the {@link DatumCache#shared() shared} in-memory cache
+ * @param datumRateLimiter optional rate limiter for datum requests to the backend, shared by all concurrent requests. Not limited by default
+ *
+ * @author $stik
+ */
+@Builder(toBuilder = true)
+public record DexOptions(Duration poolIndexRefreshInterval,
+                         int fetchConcurrency,
+                         ExecutorService executor,
+                         DatumCache datumCache,
+                         RateLimiter datumRateLimiter) {
+    public static final Duration DEFAULT_POOL_INDEX_REFRESH_INTERVAL = Duration.ofMinutes(1);
+
+    public DexOptions {
+        if(poolIndexRefreshInterval == null){
+            poolIndexRefreshInterval = DEFAULT_POOL_INDEX_REFRESH_INTERVAL;
+        }
+        if(fetchConcurrency < 1){
+            fetchConcurrency = 1;
+        }
+        if(datumCache == null){
+            datumCache = DatumCache.shared();
+        }
+    }
+
+    public static DexOptions defaults() {
+        return DexOptions.builder().build();
+    }
+
+    public boolean poolIndexEnabled() {
+        return !poolIndexRefreshInterval.isZero() && !poolIndexRefreshInterval.isNegative();
+    }
+}
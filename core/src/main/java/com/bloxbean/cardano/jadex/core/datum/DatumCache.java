@@ -0,0 +1,49 @@
+package com.bloxbean.cardano.jadex.core.datum;
+
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+
+/**
+ * Cache of decoded datums, keyed by datum hash.
+ * <p>
+ * A datum hash identifies the datum content, so cached datums never become stale and 1 cache can be shared across DEXes and networks.
+ *
+ * @author $stik
+ */
+public interface DatumCache {
+
+    /**
+     * @param datumHash the datum hash
+     * @return the cached datum or null if not cached
+     */
+    PlutusData get(String datumHash);
+
+    /**
+     * @param datumHash the datum hash
+     * @param datum the decoded datum
+     */
+    void put(String datumHash, PlutusData datum);
+
+    /**
+     * @return the number of lookups served from the cache
+     */
+    long getHits();
+
+    /**
+     * @return the number of lookups not served from the cache
+     */
+    long getMisses();
+
+    /**
+     * @return the number of datums cached in memory
+     */
+    int size();
+
+    void clear();
+
+    /**
+     * @return the in-memory cache shared by all consumers which are not configured with a dedicated cache
+     */
+    static DatumCache shared(){
+        return LruDatumCache.SHARED;
+    }
+}
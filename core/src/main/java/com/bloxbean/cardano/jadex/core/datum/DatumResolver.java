@@ -0,0 +1,61 @@
+package com.bloxbean.cardano.jadex.core.datum;
+
+import com.bloxbean.cardano.client.backend.api.ScriptService;
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.plutus.spec.serializers.PlutusDataJsonConverter;
+import com.bloxbean.cardano.jadex.core.util.RateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+/**
+ * Resolves datums by hash, using a {@link DatumCache DatumCache} before fetching them from the backend.
+ * Backend requests can be throttled by a {@link RateLimiter RateLimiter}, cache hits are never throttled.
+ *
+ * @author $stik
+ */
+@Getter
+public class DatumResolver {
+    private final ScriptService scriptService;
+    private final DatumCache datumCache;
+    private final RateLimiter rateLimiter;
+
+    public DatumResolver(ScriptService scriptService, DatumCache datumCache) {
+        this(scriptService, datumCache, null);
+    }
+    public DatumResolver(ScriptService scriptService, DatumCache datumCache, RateLimiter rateLimiter) {
+        this.scriptService = scriptService;
+        this.datumCache = datumCache != null ? datumCache : DatumCache.shared();
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @param scriptService backend service for fetching datums
+     * @return a resolver using the {@link DatumCache#shared() shared} datum cache
+     */
+    public static DatumResolver of(ScriptService scriptService){
+        return new DatumResolver(scriptService, DatumCache.shared());
+    }
+
+    /**
+     * @param datumHash the datum hash
+     * @return the decoded datum
+     */
+    public PlutusData resolve(String datumHash){
+        var datum = datumCache.get(datumHash);
+        if(datum != null){
+            return datum;
+        }
+        JsonNode json = null;
+        if(rateLimiter != null){
+            rateLimiter.acquire();
+        }
+        try{
+            json = scriptService.getScriptDatum(datumHash).getValue().getJsonValue();
+            datum = PlutusDataJsonConverter.toPlutusData(json);
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to get datum for hash [" + datumHash + "] w json [" + (json != null ? json.asText() : null) + "]", e);
+        }
+        datumCache.put(datumHash, datum);
+        return datum;
+    }
+}
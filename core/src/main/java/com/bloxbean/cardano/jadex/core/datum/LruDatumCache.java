@@ -0,0 +1,166 @@
+package com.bloxbean.cardano.jadex.core.datum;
+
+import com.bloxbean.cardano.client.plutus.spec.PlutusData;
+import com.bloxbean.cardano.client.util.HexUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DatumCache DatumCache} keeping the most recently used datums in memory.
+ * <p>
+ * When a directory is provided, every datum is also stored on disk (as CBOR hex), so datums evicted from memory or cached by a previous run are not fetched again.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class LruDatumCache implements DatumCache {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    static final LruDatumCache SHARED = new LruDatumCache(DEFAULT_MAX_ENTRIES);
+
+    private static final Pattern HEX = Pattern.compile("[0-9a-fA-F]+");
+    private static final String FILE_EXTENSION = ".cbor";
+
+    private final Map<String, PlutusData> entries;
+    private final Path directory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public LruDatumCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param maxEntries the maximum number of datums kept in memory, the least recently used datum is evicted first
+     * @param directory optional directory for storing datums on disk
+     */
+    public LruDatumCache(int maxEntries, Path directory) {
+        if(maxEntries < 1){
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PlutusData> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.directory = directory;
+        if(directory != null){
+            try{
+                Files.createDirectories(directory);
+            }catch(IOException e){
+                throw new IllegalStateException("Failed to create datum cache directory " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public PlutusData get(String datumHash) {
+        if(StringUtils.isBlank(datumHash)){
+            return null;
+        }
+        PlutusData datum;
+        synchronized (entries){
+            datum = entries.get(datumHash);
+        }
+        if(datum == null){
+            datum = readFromDisk(datumHash);
+            if(datum != null){
+                synchronized (entries){
+                    entries.put(datumHash, datum);
+                }
+            }
+        }
+        if(datum != null){
+            hits.incrementAndGet();
+        }else{
+            misses.incrementAndGet();
+        }
+        return datum;
+    }
+
+    @Override
+    public void put(String datumHash, PlutusData datum) {
+        if(StringUtils.isBlank(datumHash) || datum == null){
+            return;
+        }
+        synchronized (entries){
+            entries.put(datumHash, datum);
+        }
+        writeToDisk(datumHash, datum);
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries){
+            return entries.size();
+        }
+    }
+
+    /**
+     * Clear the in-memory datums and counters, datums stored on disk are kept
+     */
+    @Override
+    public void clear() {
+        synchronized (entries){
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private PlutusData readFromDisk(String datumHash){
+        var file = getFile(datumHash);
+        if(file == null || !Files.exists(file)){
+            return null;
+        }
+        try{
+            var cborHex = Files.readString(file, StandardCharsets.US_ASCII).trim();
+            return PlutusData.deserialize(HexUtil.decodeHexString(cborHex));
+        }catch(Exception e){
+            log.debug("Failed to read cached datum " + file + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String datumHash, PlutusData datum){
+        var file = getFile(datumHash);
+        if(file == null || Files.exists(file)){
+            return;
+        }
+        try{
+            // write to a temporary file first, so concurrent readers never see a partial datum
+            var tempFile = Files.createTempFile(directory, datumHash, ".tmp");
+            Files.writeString(tempFile, datum.serializeToHex(), StandardCharsets.US_ASCII);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(Exception e){
+            log.debug("Failed to store datum " + datumHash + " in " + directory + " - " + e.getMessage());
+        }
+    }
+
+    private Path getFile(String datumHash){
+        if(directory == null || !HEX.matcher(datumHash).matches()){
+            return null;
+        }
+        return directory.resolve(datumHash.toLowerCase() + FILE_EXTENSION);
+    }
+}
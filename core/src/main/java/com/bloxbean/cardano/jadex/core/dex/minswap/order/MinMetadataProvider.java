@@ -6,6 +6,8 @@ import com.bloxbean.cardano.client.metadata.Metadata;
 import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
 import com.bloxbean.cardano.jadex.core.order.metadata.MetadataProvider;
 
+import java.util.List;
+
 /**
  * {@link Metadata Metadata} factory for Minswap DEX
  * <p>
@@ -17,13 +19,30 @@ public class MinMetadataProvider implements MetadataProvider {
 
     @Override
     public Metadata toMetadata(OrderDefinition orderDefinition) {
+        return MessageMetadata.create()
+                .add(getMessage(orderDefinition));
+    }
+
+    /**
+     * Minswap metadata only holds a message, so orders can be batched. Each distinct message is added once
+     */
+    @Override
+    public Metadata toMetadata(List<OrderDefinition> orderDefinitions) {
+        var metadata = MessageMetadata.create();
+        orderDefinitions.stream()
+                .map(this::getMessage)
+                .distinct()
+                .forEach(metadata::add);
+        return metadata;
+    }
+
+    private String getMessage(OrderDefinition orderDefinition){
         var limitOrder = true;
         if(orderDefinition instanceof MinOrderDefinition){
             limitOrder = ((MinOrderDefinition)orderDefinition).getIsLimitOrder() != null
                     ? ((MinOrderDefinition)orderDefinition).getIsLimitOrder()
                     : true;
         }
-        return MessageMetadata.create()
-                .add(limitOrder ? "Minswap: Swap Exact In Limit Order" : "Minswap: Swap Exact In Order");
+        return limitOrder ? "Minswap: Swap Exact In Limit Order" : "Minswap: Swap Exact In Order";
     }
 }
@@ -1,53 +1,68 @@
-
 package com.bloxbean.cardano.jadex.core.dex.muesliswap.pool;
 
+import com.bloxbean.cardano.client.api.model.Amount;
 import com.bloxbean.cardano.client.api.model.Utxo;
 import com.bloxbean.cardano.client.backend.api.ScriptService;
-import com.bloxbean.cardano.jadex.core.config.DexConfig;
 import com.bloxbean.cardano.jadex.core.config.DexConfigs;
+import com.bloxbean.cardano.jadex.core.datum.DatumResolver;
 import com.bloxbean.cardano.jadex.core.pool.DefaultPoolStateProvider;
 import com.bloxbean.cardano.jadex.core.pool.PoolState;
 import com.bloxbean.cardano.jadex.core.pool.PoolStateProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * {@link com.bloxbean.cardano.jadex.core.pool.PoolState PoolState} factory for Muesliswap DEX
  * <p>
  * Since each DEX can use a (slightly) different approach for storing Pool State in UTXOs, this interface allows custom implementation for each dex.
+ * <p>
+ * Muesliswap stores the pool fee in the pool datum. The fee is only resolved when a pool calculation needs it and is cached per pool NFT, since it is fixed for the lifetime of a pool.
  *
  * @author $stik
  */
 @Slf4j
 @RequiredArgsConstructor
 public class MuesliPoolStateProvider implements PoolStateProvider {
+    private final Map<String, BigDecimal> poolFees = new ConcurrentHashMap<>();
+
     @Override
     public PoolState fromUtxo(Utxo utxo, ScriptService scriptService) {
+        return fromUtxo(utxo, DatumResolver.of(scriptService));
+    }
+
+    @Override
+    public PoolState fromUtxo(Utxo utxo, DatumResolver datumResolver) {
         var config = DexConfigs.MUESLI_V3_CONFIG;
-        if(config.poolFeePercentage() == null){
-            var dataHash = utxo.getDataHash();
-            var definition = config.poolDefinitionProvider().fromDatum(dataHash, scriptService);
-            var lpFee = ((MuesliPoolDefinition)definition).getLpFee();
-            config = new DexConfig(config.network(),
-                    config.dexType(),
-                    config.poolNftPolicyId(),
-                    config.factoryPolicyId(),
-                    config.factoryAssetName(),
-                    config.lpPolicyId(),
-                    new BigDecimal(lpFee).divide(new BigDecimal("10000"), 4, RoundingMode.HALF_DOWN),
-                    config.orderAddress(),
-                    config.swapFee(),
-                    config.outputLovelace(),
-                    config.plutusLanguage(),
-                    config.poolStateProvider(),
-                    config.poolDefinitionProvider(),
-                    config.orderDefinitionProvider(),
-                    config.metadataProvider());
+        if(config.poolFeePercentage() != null){
+            return DefaultPoolStateProvider.fromUtxo(utxo, config);
+        }
+        return DefaultPoolStateProvider.fromUtxo(utxo, config, () -> getPoolFee(utxo, datumResolver));
+    }
+
+    private BigDecimal getPoolFee(Utxo utxo, DatumResolver datumResolver){
+        var config = DexConfigs.MUESLI_V3_CONFIG;
+        var nft = utxo.getAmount().stream()
+                .map(Amount::getUnit)
+                .filter(unit -> StringUtils.startsWith(unit, config.poolNftPolicyId()))
+                .findFirst()
+                .orElse(null);
+        var fee = nft != null ? poolFees.get(nft) : null;
+        if(fee != null){
+            return fee;
+        }
+        var definition = config.poolDefinitionProvider().fromDatum(utxo.getDataHash(), datumResolver);
+        var lpFee = ((MuesliPoolDefinition)definition).getLpFee();
+        fee = new BigDecimal(lpFee).divide(new BigDecimal("10000"), 4, RoundingMode.HALF_DOWN);
+        if(nft != null){
+            poolFees.putIfAbsent(nft, fee);
         }
-        return DefaultPoolStateProvider.fromUtxo(utxo, config);
+        return fee;
     }
 }
@@ -2,22 +2,39 @@
 package com.bloxbean.cardano.jadex.core.order.book;
 
 import com.bloxbean.cardano.client.address.Address;
+import com.bloxbean.cardano.client.address.AddressProvider;
+import com.bloxbean.cardano.client.address.Credential;
+import com.bloxbean.cardano.client.common.CardanoConstants;
+import com.bloxbean.cardano.client.util.HexUtil;
 import com.bloxbean.cardano.client.util.Tuple;
+import com.bloxbean.cardano.jadex.core.pool.AssetPair;
 import com.bloxbean.cardano.jadex.core.util.TokenUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
 
 /**
  * contains all open buy and sell order for a certain asset pair (pool)
  * <p>
  * buy orders are orders where assetIn from order definition matches assetB from pool and assetOut from order definition matches assetA
  * sell orders are orders where assetIn from order definition matches assetA from pool and assetOut from order definition matches assetB
+ * <p>
+ * Orders with a price are also aggregated into price levels per side (bids for buy orders, asks for sell orders),
+ * supporting best price, depth and cumulative volume queries in logarithmic time.
+ * Orders can be added and removed one at a time, an order book is not thread-safe while it is modified.
  *
  * @author $stik
  */
@@ -31,42 +48,336 @@ public class OrderBook {
     // utxo order - price
     private final List<Tuple<UtxoOrder, BigDecimal>> buyOrder = new ArrayList<>();
     private final List<Tuple<UtxoOrder, BigDecimal>> sellOrder = new ArrayList<>();
+    private final int decimalsA;
+    private final int decimalsB;
+
+    @Getter(AccessLevel.NONE)
+    private final Side bids = new Side(buyOrder, Comparator.reverseOrder());
+    @Getter(AccessLevel.NONE)
+    private final Side asks = new Side(sellOrder, Comparator.naturalOrder());
 
     public OrderBook(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName, List<UtxoOrder> buyOrder, List<UtxoOrder> sellOrder, int decimalsA, int decimalsB) {
         this.assetAPolicyId = assetAPolicyId;
         this.assetATokenName = assetATokenName;
         this.assetBPolicyId = assetBPolicyId;
         this.assetBTokenName = assetBTokenName;
+        this.decimalsA = decimalsA;
+        this.decimalsB = decimalsB;
         if(buyOrder != null){
             this.buyOrder.addAll(buyOrder.stream()
                     .map(order -> new Tuple<>(order, order.getPrice(TokenUtil.getUnit(assetAPolicyId, assetATokenName), decimalsA, TokenUtil.getUnit(assetBPolicyId, assetBTokenName), decimalsB)))
                     .map(tuple -> new Tuple<>(tuple._1, tuple._2 != null ? tuple._2._1 : null))
-                    .sorted(Comparator.comparing(tuple -> tuple._2, Comparator.nullsLast(Comparator.reverseOrder())))
+                    .sorted(bids.comparator)
                     .toList());
         }
         if(sellOrder != null){
             this.sellOrder.addAll(sellOrder.stream()
                     .map(order -> new Tuple<>(order, order.getPrice(TokenUtil.getUnit(assetAPolicyId, assetATokenName), decimalsA, TokenUtil.getUnit(assetBPolicyId, assetBTokenName), decimalsB)))
                     .map(tuple -> new Tuple<>(tuple._1, tuple._2 != null ? tuple._2._2 : null))
-                    .sorted(Comparator.comparing(tuple -> tuple._2, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .sorted(asks.comparator)
                     .toList());
         }
+        this.buyOrder.forEach(bids::index);
+        this.sellOrder.forEach(asks::index);
+    }
+
+    /**
+     * Build the order book of an asset pair from orders of any asset pair, orders of other pairs are ignored
+     *
+     * @param orders the open orders, orders without definition are ignored
+     * @return the order book of the asset pair
+     */
+    public static OrderBook of(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName, Collection<UtxoOrder> orders, int decimalsA, int decimalsB){
+        var buyOrders = new ArrayList<UtxoOrder>();
+        var sellOrders = new ArrayList<UtxoOrder>();
+        for(var order : orders){
+            if(order.orderDefinition() == null){
+                continue;
+            }
+            if(matches(order, assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName)){
+                buyOrders.add(order);
+            }else if(matches(order, assetBPolicyId, assetBTokenName, assetAPolicyId, assetATokenName)){
+                sellOrders.add(order);
+            }
+        }
+        return new OrderBook(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName, buyOrders, sellOrders, decimalsA, decimalsB);
+    }
+
+    /**
+     * Group orders of any asset pair by their normalized pair, in 1 pass over all orders
+     *
+     * @param orders the open orders, orders without definition are ignored
+     * @return the orders per normalized asset pair
+     */
+    public static Map<AssetPair, List<UtxoOrder>> groupByPair(Collection<UtxoOrder> orders){
+        var grouped = new LinkedHashMap<AssetPair, List<UtxoOrder>>();
+        for(var order : orders){
+            var definition = order.orderDefinition();
+            if(definition == null){
+                continue;
+            }
+            var pair = AssetPair.of(unit(definition.getAssetInPolicyId(), definition.getAssetInTokenName()),
+                    unit(definition.getAssetOutPolicyId(), definition.getAssetOutTokenName()));
+            grouped.computeIfAbsent(pair, it -> new ArrayList<>()).add(order);
+        }
+        return grouped;
+    }
+
+    /**
+     * Build the order books of all asset pairs with open orders
+     *
+     * @param orders the open orders, orders without definition are ignored
+     * @param decimals provides the decimals of an asset unit
+     * @return the order book per normalized asset pair
+     */
+    public static Map<AssetPair, OrderBook> index(Collection<UtxoOrder> orders, ToIntFunction<String> decimals){
+        var index = new LinkedHashMap<AssetPair, OrderBook>();
+        groupByPair(orders).forEach((pair, pairOrders) -> index.put(pair, OrderBook.of(
+                TokenUtil.getPolicyId(pair.assetA()), TokenUtil.getTokenName(pair.assetA()),
+                TokenUtil.getPolicyId(pair.assetB()), TokenUtil.getTokenName(pair.assetB()),
+                pairOrders,
+                decimals.applyAsInt(pair.assetA()),
+                decimals.applyAsInt(pair.assetB()))));
+        return index;
+    }
+
+    /**
+     * Add 1 order, replacing an order with the same output reference. Orders of other asset pairs are ignored
+     *
+     * @param order the order to add
+     * @return true if the order was added as buy or sell order
+     */
+    public boolean addOrder(UtxoOrder order){
+        if(order.orderDefinition() == null){
+            return false;
+        }
+        var buy = matches(order, assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName);
+        if(!buy && !matches(order, assetBPolicyId, assetBTokenName, assetAPolicyId, assetATokenName)){
+            return false;
+        }
+        removeOrder(order.utxo().getTxHash(), order.utxo().getOutputIndex());
+        var price = order.getPrice(TokenUtil.getUnit(assetAPolicyId, assetATokenName), decimalsA, TokenUtil.getUnit(assetBPolicyId, assetBTokenName), decimalsB);
+        (buy ? bids : asks).add(new Tuple<>(order, price != null ? (buy ? price._1 : price._2) : null));
+        return true;
+    }
+
+    /**
+     * @return an independent copy of this order book, e.g. a snapshot of an order book which is updated in place
+     */
+    public OrderBook copy(){
+        return new OrderBook(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName,
+                buyOrder.stream().map(it -> it._1).toList(),
+                sellOrder.stream().map(it -> it._1).toList(),
+                decimalsA, decimalsB);
+    }
+
+    /**
+     * Remove 1 order, e.g. when its UTxO is spent
+     *
+     * @param txHash the transaction hash of the order UTxO
+     * @param outputIndex the output index of the order UTxO
+     * @return true if the order was part of this order book
+     */
+    public boolean removeOrder(String txHash, int outputIndex){
+        var reference = outputReference(txHash, outputIndex);
+        return bids.remove(reference) || asks.remove(reference);
+    }
+
+    /**
+     * @return the buy orders with the highest price, aggregated
+     */
+    public Optional<PriceLevel> getBestBid(){
+        return bids.levels.best();
+    }
+
+    /**
+     * @return the sell orders with the lowest price, aggregated
+     */
+    public Optional<PriceLevel> getBestAsk(){
+        return asks.levels.best();
+    }
+
+    /**
+     * @return the aggregated buy orders per price, highest price first
+     */
+    public List<PriceLevel> getBidLevels(){
+        return bids.levels.levels();
+    }
+
+    /**
+     * @return the aggregated sell orders per price, lowest price first
+     */
+    public List<PriceLevel> getAskLevels(){
+        return asks.levels.levels();
+    }
+
+    /**
+     * @param price the limit price
+     * @return all buy orders at the given price or higher, aggregated into 1 level at the limit price
+     */
+    public PriceLevel getBidDepth(BigDecimal price){
+        return bids.levels.depth(price);
+    }
+
+    /**
+     * @param price the limit price
+     * @return all sell orders at the given price or lower, aggregated into 1 level at the limit price
+     */
+    public PriceLevel getAskDepth(BigDecimal price){
+        return asks.levels.depth(price);
     }
 
+    /**
+     * @param levels the number of price levels, starting at the best bid
+     * @return the buy orders of the best `levels` price levels, aggregated into 1 level at the lowest included price. Null without buy orders
+     */
+    public PriceLevel getBidVolume(int levels){
+        return bids.levels.volume(levels);
+    }
+
+    /**
+     * @param levels the number of price levels, starting at the best ask
+     * @return the sell orders of the best `levels` price levels, aggregated into 1 level at the highest included price. Null without sell orders
+     */
+    public PriceLevel getAskVolume(int levels){
+        return asks.levels.volume(levels);
+    }
+
+    /**
+     * @param senderAddress the address of the order sender, if blank all buy orders are returned
+     * @return the buy orders placed by the sender (matching payment and stake key hash), empty for a malformed or Byron address, highest price first
+     */
     public List<Tuple<UtxoOrder, BigDecimal>> getBuyOrders(String senderAddress){
-        var network = new Address(senderAddress).getNetwork();
-        return this.buyOrder.stream()
-                .filter(it -> StringUtils.isBlank(senderAddress)
-                                || StringUtils.equals(it._1.orderDefinition().getSenderAddress(network), senderAddress)
-                                || StringUtils.equals(it._1.orderDefinition().getSenderAddress(network), senderAddress))
-                .collect(Collectors.toList());
+        return bids.getOrders(senderAddress);
     }
+    /**
+     * @param senderAddress the address of the order sender, if blank all sell orders are returned
+     * @return the sell orders placed by the sender (matching payment and stake key hash), empty for a malformed or Byron address, lowest price first
+     */
     public List<Tuple<UtxoOrder, BigDecimal>> getSellOrders(String senderAddress){
-        var network = new Address(senderAddress).getNetwork();
-        return this.sellOrder.stream()
-                .filter(it -> StringUtils.isBlank(senderAddress)
-                        || StringUtils.equals(it._1.orderDefinition().getSenderAddress(network), senderAddress)
-                        || StringUtils.equals(it._1.orderDefinition().getSenderAddress(network), senderAddress))
-                .collect(Collectors.toList());
+        return asks.getOrders(senderAddress);
+    }
+
+    private static BigInteger amountIn(UtxoOrder order){
+        return Optional.ofNullable(order.orderDefinition().getAmountIn()).orElse(BigInteger.ZERO);
+    }
+
+    private static BigInteger minimumAmountOut(UtxoOrder order){
+        return Optional.ofNullable(order.orderDefinition().getMinimumAmountOut()).orElse(BigInteger.ZERO);
+    }
+
+    private static String outputReference(String txHash, int outputIndex){
+        return txHash + "#" + outputIndex;
+    }
+
+    private static String senderKey(byte[] paymentKeyHash, byte[] stakeKeyHash){
+        return (paymentKeyHash != null ? HexUtil.encodeHexString(paymentKeyHash) : "")
+                + ":" + (stakeKeyHash != null ? HexUtil.encodeHexString(stakeKeyHash) : "");
+    }
+
+    private static String unit(String policyId, String tokenName){
+        return StringUtils.isBlank(policyId)
+                ? CardanoConstants.LOVELACE
+                : policyId + StringUtils.defaultString(tokenName);
+    }
+
+    private static boolean matches(UtxoOrder order, String assetInPolicyId, String assetInTokenName, String assetOutPolicyId, String assetOutTokenName){
+        var definition = order.orderDefinition();
+        return TokenUtil.equals(definition.getAssetInPolicyId(), assetInPolicyId)
+                && TokenUtil.equals(definition.getAssetInTokenName(), assetInTokenName)
+                && TokenUtil.equals(definition.getAssetOutPolicyId(), assetOutPolicyId)
+                && TokenUtil.equals(definition.getAssetOutTokenName(), assetOutTokenName);
+    }
+
+    /*
+     * the orders of 1 side, sorted by price (best first) and indexed by output reference, sender and price level
+     */
+    private static class Side {
+        private final List<Tuple<UtxoOrder, BigDecimal>> orders;
+        private final Comparator<Tuple<UtxoOrder, BigDecimal>> comparator;
+        private final PriceLevels levels;
+        // output reference - order with price
+        private final Map<String, Tuple<UtxoOrder, BigDecimal>> byReference = new HashMap<>();
+        // payment:stake key hash - orders with price, best price first
+        private final Map<String, List<Tuple<UtxoOrder, BigDecimal>>> bySender = new HashMap<>();
+
+        private Side(List<Tuple<UtxoOrder, BigDecimal>> orders, Comparator<BigDecimal> bestFirst) {
+            this.orders = orders;
+            this.comparator = Comparator.comparing(tuple -> tuple._2, Comparator.nullsLast(bestFirst));
+            this.levels = new PriceLevels(bestFirst);
+        }
+
+        /*
+         * index an order which is already part of the sorted orders
+         */
+        private void index(Tuple<UtxoOrder, BigDecimal> order){
+            var definition = order._1.orderDefinition();
+            byReference.put(outputReference(order._1.utxo().getTxHash(), order._1.utxo().getOutputIndex()), order);
+            insert(bySender.computeIfAbsent(senderKey(definition.getPaymentKeyHash(), definition.getStakeKeyHash()), it -> new ArrayList<>()), order);
+            if(order._2 != null){
+                levels.add(order._2, amountIn(order._1), minimumAmountOut(order._1));
+            }
+        }
+
+        private void add(Tuple<UtxoOrder, BigDecimal> order){
+            insert(orders, order);
+            index(order);
+        }
+
+        private boolean remove(String reference){
+            var order = byReference.remove(reference);
+            if(order == null){
+                return false;
+            }
+            orders.removeIf(it -> it == order);
+            var definition = order._1.orderDefinition();
+            var senderKey = senderKey(definition.getPaymentKeyHash(), definition.getStakeKeyHash());
+            var senderOrders = bySender.get(senderKey);
+            if(senderOrders != null){
+                senderOrders.removeIf(it -> it == order);
+                if(senderOrders.isEmpty()){
+                    bySender.remove(senderKey);
+                }
+            }
+            if(order._2 != null){
+                levels.remove(order._2, amountIn(order._1), minimumAmountOut(order._1));
+            }
+            return true;
+        }
+
+        private List<Tuple<UtxoOrder, BigDecimal>> getOrders(String senderAddress){
+            if(StringUtils.isBlank(senderAddress)){
+                return new ArrayList<>(orders);
+            }
+            String senderKey;
+            try{
+                var address = new Address(senderAddress);
+                senderKey = senderKey(AddressProvider.getPaymentCredential(address).map(Credential::getBytes).orElse(null),
+                        AddressProvider.getDelegationCredential(address).map(Credential::getBytes).orElse(null));
+            }catch(Exception e){
+                // malformed or Byron address, no order can be placed by it
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(bySender.getOrDefault(senderKey, Collections.emptyList()));
+        }
+
+        private void insert(List<Tuple<UtxoOrder, BigDecimal>> sortedOrders, Tuple<UtxoOrder, BigDecimal> order){
+            // after all orders with the same price, so orders of the same price keep their insertion order
+            var position = sortedOrders.size();
+            if(position > 0 && comparator.compare(sortedOrders.get(position - 1), order) > 0){
+                var low = 0;
+                var high = position;
+                while(low < high){
+                    var mid = (low + high) >>> 1;
+                    if(comparator.compare(sortedOrders.get(mid), order) <= 0){
+                        low = mid + 1;
+                    }else{
+                        high = mid;
+                    }
+                }
+                position = low;
+            }
+            sortedOrders.add(position, order);
+        }
     }
 }
@@ -0,0 +1,20 @@
+package com.bloxbean.cardano.jadex.core.order.book;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * All open orders of 1 side of an {@link OrderBook OrderBook} at the same price, aggregated
+ *
+ * @param price the price of the level, in the units of the order book side
+ * @param amountIn the summed amount in of all orders at this price
+ * @param minimumAmountOut the summed minimum amount out of all orders at this price
+ * @param orderCount the number of orders at this price
+ *
+ * @author $stik
+ */
+public record PriceLevel(BigDecimal price,
+                         BigInteger amountIn,
+                         BigInteger minimumAmountOut,
+                         int orderCount) {
+}
@@ -0,0 +1,120 @@
+package com.bloxbean.cardano.jadex.core.order.book;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Price levels of 1 side of an order book, best price first.
+ * <p>
+ * Levels are kept in a tree, so adding or removing an order is O(log n).
+ * Cumulative volumes are prefix sums over the levels, rebuilt lazily on the first query after a change,
+ * so depth queries are a binary search (O(log n)).
+ *
+ * @author $stik
+ */
+class PriceLevels {
+    private final Comparator<BigDecimal> bestFirst;
+    private final TreeMap<BigDecimal, PriceLevel> levels;
+    // prefix sums over the levels, null when outdated
+    private BigDecimal[] prices;
+    private PriceLevel[] cumulative;
+
+    /**
+     * @param bestFirst orders prices from best to worst
+     */
+    PriceLevels(Comparator<BigDecimal> bestFirst) {
+        this.bestFirst = bestFirst;
+        this.levels = new TreeMap<>(bestFirst);
+    }
+
+    void add(BigDecimal price, BigInteger amountIn, BigInteger minimumAmountOut){
+        levels.merge(price, new PriceLevel(price, amountIn, minimumAmountOut, 1), (level, order) -> new PriceLevel(level.price(),
+                level.amountIn().add(order.amountIn()),
+                level.minimumAmountOut().add(order.minimumAmountOut()),
+                level.orderCount() + 1));
+        prices = null;
+    }
+
+    void remove(BigDecimal price, BigInteger amountIn, BigInteger minimumAmountOut){
+        levels.computeIfPresent(price, (key, level) -> level.orderCount() <= 1
+                ? null
+                : new PriceLevel(level.price(),
+                    level.amountIn().subtract(amountIn),
+                    level.minimumAmountOut().subtract(minimumAmountOut),
+                    level.orderCount() - 1));
+        prices = null;
+    }
+
+    Optional<PriceLevel> best(){
+        return levels.isEmpty() ? Optional.empty() : Optional.of(levels.firstEntry().getValue());
+    }
+
+    List<PriceLevel> levels(){
+        return new ArrayList<>(levels.values());
+    }
+
+    /**
+     * @param price the limit price
+     * @return all levels at the given price or better aggregated into 1 level at the limit price
+     */
+    PriceLevel depth(BigDecimal price){
+        rebuild();
+        // first level worse than the limit price
+        int low = 0;
+        int high = prices.length;
+        while(low < high){
+            var mid = (low + high) >>> 1;
+            if(bestFirst.compare(prices[mid], price) <= 0){
+                low = mid + 1;
+            }else{
+                high = mid;
+            }
+        }
+        return cumulative(price, low);
+    }
+
+    /**
+     * @param levelCount the number of levels, starting at the best level
+     * @return the best `levelCount` levels aggregated into 1 level at the price of the worst included level, null if there are no levels
+     */
+    PriceLevel volume(int levelCount){
+        rebuild();
+        var count = Math.max(0, Math.min(levelCount, prices.length));
+        return count > 0 ? cumulative(prices[count - 1], count) : null;
+    }
+
+    private PriceLevel cumulative(BigDecimal price, int levelCount){
+        if(levelCount == 0){
+            return new PriceLevel(price, BigInteger.ZERO, BigInteger.ZERO, 0);
+        }
+        var level = cumulative[levelCount - 1];
+        return new PriceLevel(price, level.amountIn(), level.minimumAmountOut(), level.orderCount());
+    }
+
+    private void rebuild(){
+        if(prices != null){
+            return;
+        }
+        var size = levels.size();
+        var newPrices = new BigDecimal[size];
+        cumulative = new PriceLevel[size];
+        var amountIn = BigInteger.ZERO;
+        var amountOut = BigInteger.ZERO;
+        var orderCount = 0;
+        var index = 0;
+        for(var level : levels.values()){
+            amountIn = amountIn.add(level.amountIn());
+            amountOut = amountOut.add(level.minimumAmountOut());
+            orderCount += level.orderCount();
+            newPrices[index] = level.price();
+            cumulative[index] = new PriceLevel(level.price(), amountIn, amountOut, orderCount);
+            index++;
+        }
+        prices = newPrices;
+    }
+}
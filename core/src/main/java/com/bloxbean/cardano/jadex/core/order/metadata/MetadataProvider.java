@@ -4,6 +4,8 @@ package com.bloxbean.cardano.jadex.core.order.metadata;
 import com.bloxbean.cardano.client.metadata.Metadata;
 import com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition;
 
+import java.util.List;
+
 /**
  * {@link Metadata Metadata} factory, responsible for constructing {@link Metadata Metadata} from {@link OrderDefinition OrderDefinition}
  * <p>
@@ -19,4 +21,17 @@ public interface MetadataProvider {
      * @return the raw {@link Metadata Metadata} usable by the low-level Cardano Client Lib
      */
     Metadata toMetadata(OrderDefinition orderDefinition);
+
+    /**
+     * converts multiple {@link OrderDefinition orderDefinitions} placed in 1 transaction into 1 {@link Metadata metadata}.
+     * By default only single orders are supported, DEXes without order-specific metadata can override this to allow batching orders
+     *
+     * @param orderDefinitions the orders placed in 1 transaction
+     * @return the raw {@link Metadata Metadata} or null if the orders can't be placed in 1 transaction
+     */
+    default Metadata toMetadata(List<OrderDefinition> orderDefinitions){
+        return orderDefinitions.size() == 1
+                ? toMetadata(orderDefinitions.get(0))
+                : null;
+    }
 }
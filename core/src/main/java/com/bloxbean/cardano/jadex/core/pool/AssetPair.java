@@ -0,0 +1,28 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import com.bloxbean.cardano.jadex.core.util.TokenUtil;
+
+/**
+ * A normalized asset pair, usable as lookup key for pools and prices.
+ * The assets are always stored in the order used by {@link PoolState PoolState}, see {@link DefaultPoolStateProvider#normalizeAssets(String, String) normalizeAssets}.
+ *
+ * @param assetA the unit of assetA (`lovelace` for ADA)
+ * @param assetB the unit of assetB
+ *
+ * @author $stik
+ */
+public record AssetPair(String assetA, String assetB) {
+
+    public static AssetPair of(String unitA, String unitB){
+        var normalized = DefaultPoolStateProvider.normalizeAssets(unitA, unitB);
+        return new AssetPair(normalized._1, normalized._2);
+    }
+
+    public static AssetPair of(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName){
+        return of(TokenUtil.getUnit(assetAPolicyId, assetATokenName), TokenUtil.getUnit(assetBPolicyId, assetBTokenName));
+    }
+
+    public static AssetPair of(PoolState pool){
+        return new AssetPair(pool.getAssetA(), pool.getAssetB());
+    }
+}
@@ -8,6 +8,9 @@ import com.bloxbean.cardano.jadex.core.config.DexConfig;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
 
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
 /**
  * Generic provider of {@link PoolState PoolState} instances.
  *
@@ -17,6 +20,16 @@ import org.apache.commons.lang3.StringUtils;
 public class DefaultPoolStateProvider {
 
     public static PoolState fromUtxo(Utxo utxo, DexConfig config) {
+        return fromUtxo(utxo, config, config::poolFeePercentage);
+    }
+
+    /**
+     * @param utxo the pool UTXO
+     * @param config the DEX config
+     * @param poolFeeSupplier resolves the pool fee percentage when first needed
+     * @return a UTXO represented as `PoolState`
+     */
+    public static PoolState fromUtxo(Utxo utxo, DexConfig config, Supplier<BigDecimal> poolFeeSupplier) {
         var amounts = utxo.getAmount();
         if(amounts == null || amounts.isEmpty()){
             throw new IllegalArgumentException("Amounts is mandatory");
@@ -67,7 +80,7 @@ public class DefaultPoolStateProvider {
         }else{
             throw new IllegalArgumentException("pool must have 2 or 3 assets except factory, NFT and LP tokens");
         }
-        return new PoolState(txHash, outputIndex, amounts, dataHash, assetA, assetB, config);
+        return new PoolState(txHash, outputIndex, amounts, dataHash, assetA, assetB, config, poolFeeSupplier);
     }
 
     public static Tuple<String, String> normalizeAssets(String asset1, String asset2){
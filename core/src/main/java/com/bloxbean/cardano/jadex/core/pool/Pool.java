@@ -2,6 +2,8 @@
 package com.bloxbean.cardano.jadex.core.pool;
 
 import com.bloxbean.cardano.client.util.Tuple;
+import com.bloxbean.cardano.jadex.core.util.LongMathUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import org.apache.commons.lang3.StringUtils;
@@ -9,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.util.function.Supplier;
 
 /**
  * Contains the pools calculation logic.
@@ -16,22 +19,59 @@ import java.math.RoundingMode;
  * @author $stik
  */
 @Getter
-@ToString
+@ToString(doNotUseGetters = true)
 public class Pool {
+    public static final BigInteger POOL_FEE_MULTIPLIER = BigInteger.valueOf(10000);
+    private static final long POOL_FEE_MULTIPLIER_LONG = 10000;
+    private static final long UNRESOLVED = Long.MIN_VALUE;
+
     private final String id;
     private final String assetA;
     private final String assetB;
     private BigInteger reserveA;
     private BigInteger reserveB;
-    private final BigDecimal poolFeePercentage;
+    private volatile BigDecimal poolFeePercentage;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Supplier<BigDecimal> poolFeeSupplier;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile long poolFeeModifierLong = UNRESOLVED;
 
     public Pool(String id, String assetA, String assetB, BigInteger reserveA, BigInteger reserveB, BigDecimal poolFeePercentage) {
+        this(id, assetA, assetB, reserveA, reserveB, poolFeePercentage, null);
+    }
+
+    /**
+     * Pool with a pool fee which is only resolved when first needed, e.g. for fees stored in the pool datum.
+     *
+     * @param poolFeeSupplier resolves the pool fee percentage, called at most once
+     */
+    public Pool(String id, String assetA, String assetB, BigInteger reserveA, BigInteger reserveB, Supplier<BigDecimal> poolFeeSupplier) {
+        this(id, assetA, assetB, reserveA, reserveB, null, poolFeeSupplier);
+    }
+
+    private Pool(String id, String assetA, String assetB, BigInteger reserveA, BigInteger reserveB, BigDecimal poolFeePercentage, Supplier<BigDecimal> poolFeeSupplier) {
         this.id = id;
         this.assetA = assetA;
         this.assetB = assetB;
         this.reserveA = reserveA;
         this.reserveB = reserveB;
         this.poolFeePercentage = poolFeePercentage;
+        this.poolFeeSupplier = poolFeeSupplier;
+    }
+
+    public BigDecimal getPoolFeePercentage(){
+        var fee = this.poolFeePercentage;
+        if(fee == null && poolFeeSupplier != null){
+            synchronized (this){
+                if(this.poolFeePercentage == null){
+                    this.poolFeePercentage = poolFeeSupplier.get();
+                }
+                fee = this.poolFeePercentage;
+            }
+        }
+        return fee;
     }
 
     public void addA(){
@@ -49,6 +89,32 @@ public class Pool {
     public BigInteger reserveB(){
         return this.reserveB;
     }
+
+    /**
+     * The share of an input amount that remains after the pool fee, expressed in 1/10000.
+     * E.g. 9970 for a pool fee of 0.3%
+     *
+     * @return the pool fee modifier
+     */
+    public BigInteger poolFeeModifier(){
+        return POOL_FEE_MULTIPLIER.subtract(getPoolFeePercentage().multiply(new BigDecimal(POOL_FEE_MULTIPLIER)).setScale(0, RoundingMode.HALF_DOWN).toBigInteger());
+    }
+
+    /*
+     * the pool fee modifier for the long fast path, 0 if the fast path can't be used for this fee
+     */
+    private long poolFeeModifierLong(){
+        var modifier = this.poolFeeModifierLong;
+        if(modifier == UNRESOLVED){
+            var poolFeeModifier = poolFeeModifier();
+            modifier = poolFeeModifier.signum() > 0 && poolFeeModifier.compareTo(POOL_FEE_MULTIPLIER) <= 0
+                    ? poolFeeModifier.longValue()
+                    : 0;
+            this.poolFeeModifierLong = modifier;
+        }
+        return modifier;
+    }
+
     /**
      * Get the output amount if we swap a certain amount of a token in the pair
      * @param assetIn The asset that we want to swap from
@@ -56,10 +122,6 @@ public class Pool {
      * @return The amount of the other token that we get from the swap and its price impact
      */
     public SwapAmount getAmountOut(String assetIn, BigInteger amountIn){
-        var poolFeePercent = this.poolFeePercentage;
-        var poolFeeMultiplier = BigInteger.valueOf(10000);
-        var poolFeeModifier = poolFeeMultiplier.subtract(poolFeePercent.multiply(new BigDecimal(poolFeeMultiplier)).setScale(0, RoundingMode.HALF_DOWN).toBigInteger());
-
         if(!StringUtils.equals(this.assetA, assetIn)
             && !StringUtils.equals(this.assetB, assetIn)){
             throw new IllegalArgumentException("asset doesn't exist in pool");
@@ -70,6 +132,17 @@ public class Pool {
         var reserveOut = StringUtils.equals(assetIn, this.assetA)
                 ? this.reserveB()
                 : this.reserveA();
+        if(fitsLong(amountIn) && fitsLong(reserveIn) && fitsLong(reserveOut)){
+            var modifier = poolFeeModifierLong();
+            var amountOut = amountOut(reserveIn.longValue(), reserveOut.longValue(), amountIn.longValue(), modifier);
+            if(amountOut >= 0){
+                var priceImpact = amountOutPriceImpact(reserveIn.longValue(), amountIn.longValue(), modifier);
+                return new SwapAmount(BigInteger.valueOf(amountOut), BigDecimal.valueOf(priceImpact, 4));
+            }
+        }
+        var poolFeeMultiplier = POOL_FEE_MULTIPLIER;
+        var poolFeeModifier = poolFeeModifier();
+
         var amtOutNumerator = amountIn.multiply(poolFeeModifier).multiply(reserveOut);
         var amtOutDenominator = (amountIn.multiply(poolFeeModifier)).add(reserveIn.multiply(poolFeeMultiplier));
 
@@ -99,9 +172,16 @@ public class Pool {
                 ? this.reserveB()
                 : this.reserveA();
 
-        var poolFeePercent = this.poolFeePercentage;
-        var poolFeeMultiplier = BigInteger.valueOf(10000);
-        var poolFeeModifier = poolFeeMultiplier.subtract(poolFeePercent.multiply(new BigDecimal(poolFeeMultiplier)).setScale(0, RoundingMode.HALF_DOWN).toBigInteger());
+        if(fitsLong(exactAmountOut) && fitsLong(reserveIn) && fitsLong(reserveOut)){
+            var modifier = poolFeeModifierLong();
+            var amountIn = amountIn(reserveIn.longValue(), reserveOut.longValue(), exactAmountOut.longValue(), modifier);
+            if(amountIn >= 0){
+                var priceImpact = amountInPriceImpact(reserveOut.longValue(), exactAmountOut.longValue(), modifier);
+                return new SwapAmount(BigInteger.valueOf(amountIn), BigDecimal.valueOf(priceImpact, 4));
+            }
+        }
+        var poolFeeMultiplier = POOL_FEE_MULTIPLIER;
+        var poolFeeModifier = poolFeeModifier();
 
         var amtInNumerator = reserveIn.multiply(exactAmountOut).multiply(poolFeeMultiplier);
         var amtInDenominator = (reserveOut.subtract(exactAmountOut)).multiply(poolFeeModifier);
@@ -115,6 +195,45 @@ public class Pool {
         return new SwapAmount(amountIn, priceImpact);
     }
 
+    /**
+     * Allocation-free variant of {@link #getAmountOut(String, BigInteger)}, without price impact
+     * @param assetIn The asset that we want to swap from
+     * @param amountIn The amount that we want to swap from
+     * @return The amount of the other token that we get from the swap
+     */
+    public long getAmountOut(String assetIn, long amountIn){
+        var aToB = isAssetA(assetIn);
+        var reserveIn = aToB ? this.reserveA : this.reserveB;
+        var reserveOut = aToB ? this.reserveB : this.reserveA;
+        if(fitsLong(reserveIn) && fitsLong(reserveOut)){
+            var amountOut = amountOut(reserveIn.longValue(), reserveOut.longValue(), amountIn, poolFeeModifierLong());
+            if(amountOut >= 0){
+                return amountOut;
+            }
+        }
+        return getAmountOut(assetIn, BigInteger.valueOf(amountIn)).amount().longValueExact();
+    }
+
+    /**
+     * Allocation-free variant of {@link #getAmountIn(String, BigInteger)}, without price impact
+     * @param assetOut The asset that we want to get from the pair
+     * @param exactAmountOut The amount of assetOut that we want get from the swap
+     * @return The amount needed of the input token for the swap
+     * @throws ArithmeticException if the amount needed doesn't fit in a long
+     */
+    public long getAmountIn(String assetOut, long exactAmountOut){
+        var bToA = !isAssetA(assetOut);
+        var reserveIn = bToA ? this.reserveB : this.reserveA;
+        var reserveOut = bToA ? this.reserveA : this.reserveB;
+        if(fitsLong(reserveIn) && fitsLong(reserveOut)){
+            var amountIn = amountIn(reserveIn.longValue(), reserveOut.longValue(), exactAmountOut, poolFeeModifierLong());
+            if(amountIn >= 0){
+                return amountIn;
+            }
+        }
+        return getAmountIn(assetOut, BigInteger.valueOf(exactAmountOut)).amount().longValueExact();
+    }
+
     /**
      * Get pool price.
      * @param decimalsA - The decimals of assetA in pool, if undefined then query from Blockfrost.
@@ -137,4 +256,83 @@ public class Pool {
     public BigInteger liquidity(){
         return this.reserveA().multiply(this.reserveB());
     }
+
+    /**
+     * @return an immutable copy of the current reserves, safe to share across threads
+     */
+    public PoolSnapshot snapshot(){
+        return PoolSnapshot.of(this);
+    }
+
+    /*
+     * true if assetA, false if assetB
+     */
+    private boolean isAssetA(String asset){
+        if(StringUtils.equals(this.assetA, asset)){
+            return true;
+        }
+        if(StringUtils.equals(this.assetB, asset)){
+            return false;
+        }
+        throw new IllegalArgumentException("asset doesn't exist in pool");
+    }
+
+    private static boolean fitsLong(BigInteger value){
+        return value != null && value.bitLength() < Long.SIZE;
+    }
+
+    /*
+     * amountOut = amountIn * modifier * reserveOut / (amountIn * modifier + reserveIn * multiplier)
+     * returns -1 if the long fast path doesn't apply
+     */
+    private static long amountOut(long reserveIn, long reserveOut, long amountIn, long modifier){
+        if(reserveIn <= 0 || reserveOut <= 0 || amountIn <= 0 || modifier <= 0){
+            return -1;
+        }
+        var amountInWithFee = LongMathUtil.multiply(amountIn, modifier);
+        var reserveInWithMultiplier = LongMathUtil.multiply(reserveIn, POOL_FEE_MULTIPLIER_LONG);
+        if(amountInWithFee < 0 || reserveInWithMultiplier < 0){
+            return -1;
+        }
+        var denominator = LongMathUtil.add(amountInWithFee, reserveInWithMultiplier);
+        if(denominator < 0){
+            return -1;
+        }
+        return LongMathUtil.mulDiv(amountInWithFee, reserveOut, denominator);
+    }
+
+    /*
+     * the price impact numerator and denominator of getAmountOut reduce to amountIn * modifier^2 / (multiplier * denominator),
+     * returns the unscaled price impact (scale 4), only valid when amountOut applies
+     */
+    private static long amountOutPriceImpact(long reserveIn, long amountIn, long modifier){
+        var amountInWithFee = amountIn * modifier;
+        var denominator = amountInWithFee + reserveIn * POOL_FEE_MULTIPLIER_LONG;
+        return LongMathUtil.mulDivHalfDown(amountInWithFee, modifier, denominator);
+    }
+
+    /*
+     * amountIn = reserveIn * amountOut * multiplier / ((reserveOut - amountOut) * modifier) + 1
+     * returns -1 if the long fast path doesn't apply
+     */
+    private static long amountIn(long reserveIn, long reserveOut, long amountOut, long modifier){
+        if(reserveIn <= 0 || amountOut <= 0 || amountOut >= reserveOut || modifier <= 0){
+            return -1;
+        }
+        var numerator = LongMathUtil.multiply(amountOut, POOL_FEE_MULTIPLIER_LONG);
+        var denominator = LongMathUtil.multiply(reserveOut - amountOut, modifier);
+        if(numerator < 0 || denominator < 0){
+            return -1;
+        }
+        var quotient = LongMathUtil.mulDiv(reserveIn, numerator, denominator);
+        return quotient >= 0 && quotient < Long.MAX_VALUE ? quotient + 1 : -1;
+    }
+
+    /*
+     * the price impact numerator and denominator of getAmountIn reduce to amountOut * modifier / reserveOut,
+     * returns the unscaled price impact (scale 4), only valid when amountIn applies
+     */
+    private static long amountInPriceImpact(long reserveOut, long amountOut, long modifier){
+        return LongMathUtil.mulDivHalfDown(amountOut, modifier, reserveOut);
+    }
 }
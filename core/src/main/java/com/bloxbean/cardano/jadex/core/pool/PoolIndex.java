@@ -0,0 +1,232 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of all pools of 1 DEX, keyed by normalized {@link AssetPair AssetPair}.
+ * <p>
+ * The index is built once, using the provided loader, and answers pair lookups from memory.
+ * Once the index is older than the refresh interval, a rebuild is started in the background while lookups keep being served from the previous state.
+ * Once it is older than twice the refresh interval (e.g. because background refreshes keep failing), lookups rebuild it synchronously and fail if that rebuild fails,
+ * so stale pools are never served without limit.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class PoolIndex implements AutoCloseable {
+    private static final Comparator<PoolState> BY_LIQUIDITY_DESC = (it1, it2) -> it2.liquidity().compareTo(it1.liquidity());
+
+    private final Supplier<? extends Collection<PoolState>> loader;
+    private final Duration refreshInterval;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot;
+    private volatile Exception lastRefreshFailure;
+    private ExecutorService refreshExecutor;
+    private boolean closed;
+
+    /**
+     * @param loader provides all pools of the DEX, invoked on (re)build
+     * @param refreshInterval the maximum age of the index before a background refresh is started, twice this is the maximum age served. If null, the index is only refreshed on request
+     */
+    public PoolIndex(Supplier<? extends Collection<PoolState>> loader, Duration refreshInterval) {
+        this.loader = loader;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * @param pair the normalized asset pair
+     * @return the pool with the highest liquidity for the given pair, or null if no pool exists
+     */
+    public PoolState getPool(AssetPair pair){
+        return snapshot().best().get(pair);
+    }
+
+    /**
+     * @param pair the normalized asset pair
+     * @return all pools for the given pair, sorted by liquidity (highest first)
+     */
+    public List<PoolState> getPools(AssetPair pair){
+        return snapshot().byPair().getOrDefault(pair, Collections.emptyList());
+    }
+
+    /**
+     * @return all indexed pools
+     */
+    public List<PoolState> getAllPools(){
+        return snapshot().pools();
+    }
+
+    /**
+     * Replace the indexed pools, e.g. with the result of a full pool scan
+     *
+     * @param pools all pools of the DEX
+     */
+    public void update(Collection<PoolState> pools){
+        var updated = Snapshot.of(pools);
+        this.snapshot = updated;
+        log.debug("Pool index updated with " + updated.pools().size() + " pools");
+    }
+
+    /**
+     * Rebuild the index synchronously
+     */
+    public void refresh(){
+        synchronized (loadLock){
+            load();
+        }
+    }
+
+    /**
+     * Drop the indexed pools, the next lookup will rebuild the index
+     */
+    public void invalidate(){
+        this.snapshot = null;
+    }
+
+    public boolean isLoaded(){
+        return this.snapshot != null;
+    }
+
+    /**
+     * @return the time the indexed pools were loaded, null if not loaded
+     */
+    public Instant getBuiltAt(){
+        var current = this.snapshot;
+        return current != null ? current.builtAt() : null;
+    }
+
+    /**
+     * @return the failure of the last (background or synchronous) rebuild, null if the last rebuild succeeded
+     */
+    public Exception getLastRefreshFailure(){
+        return lastRefreshFailure;
+    }
+
+    /**
+     * Stop the background refresh thread. Lookups keep working, an expired index is then rebuilt synchronously
+     */
+    @Override
+    public synchronized void close(){
+        closed = true;
+        if(refreshExecutor != null){
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
+        }
+    }
+
+    private Snapshot snapshot(){
+        var current = this.snapshot;
+        if(current == null){
+            synchronized (loadLock){
+                current = this.snapshot;
+                return current != null ? current : load();
+            }
+        }
+        if(refreshInterval == null){
+            return current;
+        }
+        var now = Instant.now();
+        var expired = current.builtAt().plus(refreshInterval).isBefore(now);
+        if(current.builtAt().plus(refreshInterval.multipliedBy(2)).isBefore(now) || (expired && isClosed())){
+            synchronized (loadLock){
+                if(this.snapshot != current && this.snapshot != null){
+                    // refreshed by another thread while waiting
+                    return this.snapshot;
+                }
+                try{
+                    return load();
+                }catch(Exception e){
+                    throw new IllegalStateException("Pool index built at " + current.builtAt() + " expired and could not be refreshed", e);
+                }
+            }
+        }
+        if(expired){
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    private Snapshot load(){
+        Snapshot loaded;
+        try{
+            loaded = Snapshot.of(loader.get());
+        }catch(Exception e){
+            this.lastRefreshFailure = e;
+            throw e;
+        }
+        this.snapshot = loaded;
+        this.lastRefreshFailure = null;
+        log.debug("Pool index loaded with " + loaded.pools().size() + " pools");
+        return loaded;
+    }
+
+    private void refreshInBackground(){
+        if(!refreshing.compareAndSet(false, true)){
+            return;
+        }
+        try{
+            getRefreshExecutor().execute(() -> {
+                try{
+                    refresh();
+                }catch(Exception e){
+                    log.warn("Failed to refresh pool index", e);
+                }finally{
+                    refreshing.set(false);
+                }
+            });
+        }catch(Exception e){
+            refreshing.set(false);
+            log.warn("Failed to schedule pool index refresh", e);
+        }
+    }
+
+    private synchronized boolean isClosed(){
+        return closed;
+    }
+
+    private synchronized ExecutorService getRefreshExecutor(){
+        if(closed){
+            throw new IllegalStateException("Pool index is closed");
+        }
+        if(refreshExecutor == null){
+            refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                var thread = new Thread(runnable, "jadex-pool-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return refreshExecutor;
+    }
+
+    private record Snapshot(List<PoolState> pools,
+                            Map<AssetPair, List<PoolState>> byPair,
+                            Map<AssetPair, PoolState> best,
+                            Instant builtAt) {
+
+        static Snapshot of(Collection<PoolState> source){
+            var pools = source != null
+                    ? source.stream().filter(Objects::nonNull).toList()
+                    : List.<PoolState>of();
+            var byPair = new HashMap<AssetPair, List<PoolState>>();
+            for(var pool : pools){
+                byPair.computeIfAbsent(AssetPair.of(pool), key -> new ArrayList<>()).add(pool);
+            }
+            var best = new HashMap<AssetPair, PoolState>();
+            byPair.replaceAll((pair, pairPools) -> {
+                var sorted = pairPools.stream().sorted(BY_LIQUIDITY_DESC).toList();
+                best.put(pair, sorted.get(0));
+                return sorted;
+            });
+            return new Snapshot(pools, Collections.unmodifiableMap(byPair), Collections.unmodifiableMap(best), Instant.now());
+        }
+    }
+}
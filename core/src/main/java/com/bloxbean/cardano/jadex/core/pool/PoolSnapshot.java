@@ -0,0 +1,124 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import com.bloxbean.cardano.client.util.Tuple;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Immutable state of a pool's reserves.
+ * <p>
+ * Unlike {@link Pool Pool}, a snapshot never changes: {@link #simulateSwap(String, BigInteger) simulateSwap} returns a new snapshot with the reserves after the swap.
+ * Snapshots can therefore be shared across quoting threads without locks or defensive copies.
+ * All amounts are calculated by the same logic as {@link Pool Pool}.
+ *
+ * @author $stik
+ */
+public final class PoolSnapshot {
+    // never mutated nor exposed, only used for calculations
+    private final Pool pool;
+
+    private PoolSnapshot(Pool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param pool the pool to copy the current reserves from. A pool fee which is not resolved yet, is resolved when first needed
+     * @return a snapshot of the pool
+     */
+    public static PoolSnapshot of(Pool pool){
+        return new PoolSnapshot(new Pool(pool.getId(), pool.getAssetA(), pool.getAssetB(), pool.getReserveA(), pool.getReserveB(), pool::getPoolFeePercentage));
+    }
+
+    public static PoolSnapshot of(String id, String assetA, String assetB, BigInteger reserveA, BigInteger reserveB, BigDecimal poolFeePercentage){
+        return new PoolSnapshot(new Pool(id, assetA, assetB, reserveA, reserveB, poolFeePercentage));
+    }
+
+    public String getId() {
+        return pool.getId();
+    }
+
+    public String getAssetA() {
+        return pool.getAssetA();
+    }
+
+    public String getAssetB() {
+        return pool.getAssetB();
+    }
+
+    public BigInteger getReserveA() {
+        return pool.getReserveA();
+    }
+
+    public BigInteger getReserveB() {
+        return pool.getReserveB();
+    }
+
+    public BigDecimal getPoolFeePercentage() {
+        return pool.getPoolFeePercentage();
+    }
+
+    /**
+     * @see Pool#getAmountOut(String, BigInteger)
+     */
+    public SwapAmount getAmountOut(String assetIn, BigInteger amountIn){
+        return pool.getAmountOut(assetIn, amountIn);
+    }
+
+    /**
+     * @see Pool#getAmountOut(String, long)
+     */
+    public long getAmountOut(String assetIn, long amountIn){
+        return pool.getAmountOut(assetIn, amountIn);
+    }
+
+    /**
+     * @see Pool#getAmountIn(String, BigInteger)
+     */
+    public SwapAmount getAmountIn(String assetOut, BigInteger exactAmountOut){
+        return pool.getAmountIn(assetOut, exactAmountOut);
+    }
+
+    /**
+     * @see Pool#getAmountIn(String, long)
+     */
+    public long getAmountIn(String assetOut, long exactAmountOut){
+        return pool.getAmountIn(assetOut, exactAmountOut);
+    }
+
+    /**
+     * @see Pool#getPrice(int, int)
+     */
+    public Tuple<BigDecimal, BigDecimal> getPrice(int decimalsA, int decimalsB){
+        return pool.getPrice(decimalsA, decimalsB);
+    }
+
+    public BigInteger liquidity(){
+        return pool.liquidity();
+    }
+
+    /**
+     * Simulate a swap without changing this snapshot
+     *
+     * @param assetIn the asset to swap into the pool
+     * @param amountIn the amount of assetIn
+     * @return the output of the swap and a new snapshot with the reserves after the swap
+     */
+    public SwapSimulation simulateSwap(String assetIn, BigInteger amountIn){
+        var swap = pool.getAmountOut(assetIn, amountIn);
+        var aToB = StringUtils.equals(assetIn, pool.getAssetA());
+        var after = new PoolSnapshot(new Pool(pool.getId(),
+                pool.getAssetA(),
+                pool.getAssetB(),
+                aToB ? pool.getReserveA().add(amountIn) : pool.getReserveA().subtract(swap.amount()),
+                aToB ? pool.getReserveB().subtract(swap.amount()) : pool.getReserveB().add(amountIn),
+                pool.getPoolFeePercentage()));
+        return new SwapSimulation(amountIn, swap.amount(), swap.priceImpact(), after);
+    }
+
+    @Override
+    public String toString() {
+        return "PoolSnapshot(" + pool + ")";
+    }
+}
@@ -6,6 +6,7 @@ import com.bloxbean.cardano.client.util.Tuple;
 import com.bloxbean.cardano.client.backend.api.ScriptService;
 import com.bloxbean.cardano.jadex.core.config.DexConfig;
 import com.bloxbean.cardano.jadex.core.pool.definition.PoolDefinition;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import org.apache.commons.lang3.StringUtils;
@@ -13,6 +14,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Represents the state of a pool UTxO.
@@ -32,8 +34,18 @@ public class PoolState {
     private final String dataHash;
     private final Pool pool;
     private final DexConfig config;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile PoolSnapshot snapshot;
 
     public PoolState(String txHash, int outputIndex, List<Amount> amounts, String dataHash, String assetA, String assetB, DexConfig config) {
+        this(txHash, outputIndex, amounts, dataHash, assetA, assetB, config, config::poolFeePercentage);
+    }
+
+    /**
+     * @param poolFeeSupplier resolves the pool fee percentage when first needed, for DEXes storing the fee in the pool datum
+     */
+    public PoolState(String txHash, int outputIndex, List<Amount> amounts, String dataHash, String assetA, String assetB, DexConfig config, Supplier<BigDecimal> poolFeeSupplier) {
         this.txHash = txHash;
         this.outputIndex = outputIndex;
         this.amounts = amounts;
@@ -56,7 +68,7 @@ public class PoolState {
                         .map(Amount::getQuantity)
                         .findFirst()
                         .orElse(BigInteger.ZERO),
-                config.poolFeePercentage());
+                poolFeeSupplier);
     }
 
     public String nft(){
@@ -111,6 +123,26 @@ public class PoolState {
         return pool.getAmountIn(assetOut, exactAmountOut);
     }
 
+    /**
+     * Allocation-free variant of {@link #getAmountOut(String, BigInteger)}, without price impact
+     * @param assetIn The asset that we want to swap from
+     * @param amountIn The amount that we want to swap from
+     * @return The amount of the other token that we get from the swap
+     */
+    public long getAmountOut(String assetIn, long amountIn){
+        return pool.getAmountOut(assetIn, amountIn);
+    }
+
+    /**
+     * Allocation-free variant of {@link #getAmountIn(String, BigInteger)}, without price impact
+     * @param assetOut The asset that we want to get from the pair
+     * @param exactAmountOut The amount of assetOut that we want get from the swap
+     * @return The amount needed of the input token for the swap
+     */
+    public long getAmountIn(String assetOut, long exactAmountOut){
+        return pool.getAmountIn(assetOut, exactAmountOut);
+    }
+
     /**
      * Get pool price.
      * @param decimalsA - The decimals of assetA in pool, if undefined then query from Blockfrost.
@@ -126,6 +158,25 @@ public class PoolState {
         return pool.liquidity();
     }
 
+    /**
+     * @return an immutable snapshot of the pool's reserves, created once and shared by all callers
+     */
+    public PoolSnapshot snapshot(){
+        var current = this.snapshot;
+        if(current == null){
+            current = pool.snapshot();
+            this.snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the pool fee percentage, resolved on first use if not set in the {@link DexConfig DexConfig}
+     */
+    public BigDecimal poolFeePercentage(){
+        return pool.getPoolFeePercentage();
+    }
+
     public PoolDefinition getDefinition(ScriptService scriptService){
         return this.config.poolDefinitionProvider().fromDatum(this.dataHash, scriptService);
     }
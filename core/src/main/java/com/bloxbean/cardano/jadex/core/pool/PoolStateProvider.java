@@ -3,6 +3,7 @@ package com.bloxbean.cardano.jadex.core.pool;
 
 import com.bloxbean.cardano.client.api.model.Utxo;
 import com.bloxbean.cardano.client.backend.api.ScriptService;
+import com.bloxbean.cardano.jadex.core.datum.DatumResolver;
 
 
 /**
@@ -22,4 +23,15 @@ public interface PoolStateProvider {
      * @return a UTXO represented as `PoolState`
      */
     PoolState fromUtxo(Utxo utxo, ScriptService scriptService);
+
+    /**
+     * Construct a `PoolState` object from the pool UTXO, resolving the pool datum through a (cached) {@link DatumResolver DatumResolver}.
+     *
+     * @param utxo the pool UTXO
+     * @param datumResolver resolver for the pool datum
+     * @return a UTXO represented as `PoolState`
+     */
+    default PoolState fromUtxo(Utxo utxo, DatumResolver datumResolver){
+        return fromUtxo(utxo, datumResolver.getScriptService());
+    }
 }
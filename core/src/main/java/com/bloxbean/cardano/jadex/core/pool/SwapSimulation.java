@@ -0,0 +1,20 @@
+package com.bloxbean.cardano.jadex.core.pool;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The result of {@link PoolSnapshot#simulateSwap(String, BigInteger) simulating a swap}
+ *
+ * @param amountIn the amount swapped into the pool
+ * @param amountOut the amount received from the pool
+ * @param priceImpact the price impact of the swap
+ * @param pool the pool state after the swap
+ *
+ * @author $stik
+ */
+public record SwapSimulation(BigInteger amountIn,
+                             BigInteger amountOut,
+                             BigDecimal priceImpact,
+                             PoolSnapshot pool) {
+}
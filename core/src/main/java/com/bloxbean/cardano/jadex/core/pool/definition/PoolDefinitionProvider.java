@@ -2,8 +2,8 @@
 package com.bloxbean.cardano.jadex.core.pool.definition;
 
 import com.bloxbean.cardano.client.plutus.spec.PlutusData;
-import com.bloxbean.cardano.client.plutus.spec.serializers.PlutusDataJsonConverter;
 import com.bloxbean.cardano.client.backend.api.ScriptService;
+import com.bloxbean.cardano.jadex.core.datum.DatumResolver;
 
 /**
  * {@link PoolDefinition PoolDefinition} factory, responsible for constructing {@link PoolDefinition PoolDefinitions} from {@link PlutusData PlutusData}
@@ -15,9 +15,11 @@ import com.bloxbean.cardano.client.backend.api.ScriptService;
 public interface PoolDefinitionProvider {
 
     default PoolDefinition fromDatum(String datumHash, ScriptService scriptService){
+        return fromDatum(datumHash, DatumResolver.of(scriptService));
+    }
+    default PoolDefinition fromDatum(String datumHash, DatumResolver datumResolver){
         try{
-            var json = scriptService.getScriptDatum(datumHash).getValue().getJsonValue();
-            var data = PlutusDataJsonConverter.toPlutusData(json);
+            var data = datumResolver.resolve(datumHash);
             return fromDatum(data);
         }catch(Exception e){
             throw new IllegalStateException("Failed to read from datum hash [" + datumHash + "]", e);
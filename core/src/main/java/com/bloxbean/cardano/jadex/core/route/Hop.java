@@ -0,0 +1,23 @@
+package com.bloxbean.cardano.jadex.core.route;
+
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+
+import java.math.BigInteger;
+
+/**
+ * 1 swap of a {@link Route Route}
+ *
+ * @param pool the pool used for this swap
+ * @param assetIn the unit of the asset swapped into the pool
+ * @param assetOut the unit of the asset received from the pool
+ * @param amountIn the amount of assetIn
+ * @param amountOut the expected amount of assetOut
+ *
+ * @author $stik
+ */
+public record Hop(PoolState pool,
+                  String assetIn,
+                  String assetOut,
+                  BigInteger amountIn,
+                  BigInteger amountOut) {
+}
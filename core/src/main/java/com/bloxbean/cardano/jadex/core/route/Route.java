@@ -0,0 +1,26 @@
+package com.bloxbean.cardano.jadex.core.route;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * A path of 1 or more swaps from assetIn to assetOut, found by a {@link Router Router}
+ *
+ * @param assetIn the unit of the asset to swap
+ * @param assetOut the unit of the asset to receive
+ * @param amountIn the amount of assetIn
+ * @param amountOut the expected amount of assetOut after all hops
+ * @param hops the swaps, in execution order
+ *
+ * @author $stik
+ */
+public record Route(String assetIn,
+                    String assetOut,
+                    BigInteger amountIn,
+                    BigInteger amountOut,
+                    List<Hop> hops) {
+
+    public int hopCount(){
+        return hops.size();
+    }
+}
@@ -0,0 +1,231 @@
+package com.bloxbean.cardano.jadex.core.route;
+
+import com.bloxbean.cardano.jadex.core.pool.PoolSnapshot;
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Finds the best swap routes between 2 assets over a graph of pools, with at most {@value #MAX_HOPS} hops.
+ * <p>
+ * Assets are the nodes and pools the edges of the graph. The graph is built once from a fixed set of pools (e.g. the pool index), a new router is needed to pick up new pool states.
+ * Routes are searched layer by layer, keeping only the best path to each intermediate asset:
+ * <ul>
+ *     <li>hop 1 quotes all pools of assetIn</li>
+ *     <li>hop 2 only continues to assets which have a pool with assetOut, unless it completes a route</li>
+ *     <li>a 2-hop path to an intermediate asset is dropped when a direct swap into the same asset yields more</li>
+ * </ul>
+ * Parallel pools of the same pair are compared for each hop, only the pool with the highest output is used.
+ * Intermediate assets of a route are distinct and differ from assetIn and assetOut.
+ * <p>
+ * Each pool is quoted from its immutable {@link PoolState#snapshot() snapshot}, so a router can be shared across threads.
+ * Quotes use the allocation-free long variant of {@link PoolSnapshot#getAmountOut(String, long) getAmountOut}, amounts are limited to the range of a long.
+ *
+ * @author $stik
+ */
+public class Router {
+    public static final int MAX_HOPS = 3;
+
+    // asset - neighbour asset - pools of the pair
+    private final Map<String, Map<String, List<Edge>>> graph = new HashMap<>();
+
+    /**
+     * @param pools the pools to route over, pools without reserves are ignored
+     */
+    public Router(Collection<PoolState> pools) {
+        for(var pool : pools){
+            if(pool == null || StringUtils.equals(pool.getAssetA(), pool.getAssetB())){
+                continue;
+            }
+            var snapshot = pool.snapshot();
+            if(snapshot.getReserveA().signum() <= 0 || snapshot.getReserveB().signum() <= 0){
+                continue;
+            }
+            var edge = new Edge(pool, snapshot);
+            graph.computeIfAbsent(pool.getAssetA(), key -> new HashMap<>()).computeIfAbsent(pool.getAssetB(), key -> new ArrayList<>()).add(edge);
+            graph.computeIfAbsent(pool.getAssetB(), key -> new HashMap<>()).computeIfAbsent(pool.getAssetA(), key -> new ArrayList<>()).add(edge);
+        }
+    }
+
+    /**
+     * @return the number of assets in the graph
+     */
+    public int assetCount(){
+        return graph.size();
+    }
+
+    /**
+     * Find the route with the highest output, using at most {@value #MAX_HOPS} hops
+     *
+     * @param assetIn the unit of the asset to swap (`lovelace` for ADA)
+     * @param assetOut the unit of the asset to receive
+     * @param amountIn the amount of assetIn
+     * @return the best route or empty if the assets are not connected
+     */
+    public Optional<Route> getBestRoute(String assetIn, String assetOut, BigInteger amountIn){
+        return getBestRoute(assetIn, assetOut, amountIn, MAX_HOPS);
+    }
+
+    /**
+     * Find the route with the highest output
+     *
+     * @param assetIn the unit of the asset to swap (`lovelace` for ADA)
+     * @param assetOut the unit of the asset to receive
+     * @param amountIn the amount of assetIn
+     * @param maxHops the maximum number of hops (1 - {@value #MAX_HOPS})
+     * @return the best route or empty if the assets are not connected
+     */
+    public Optional<Route> getBestRoute(String assetIn, String assetOut, BigInteger amountIn, int maxHops){
+        return getRoutes(assetIn, assetOut, amountIn, maxHops).stream().findFirst();
+    }
+
+    /**
+     * Find the best route for each number of hops
+     *
+     * @param assetIn the unit of the asset to swap (`lovelace` for ADA)
+     * @param assetOut the unit of the asset to receive
+     * @param amountIn the amount of assetIn
+     * @param maxHops the maximum number of hops (1 - {@value #MAX_HOPS})
+     * @return at most 1 route per number of hops, sorted by output (highest first)
+     */
+    public List<Route> getRoutes(String assetIn, String assetOut, BigInteger amountIn, int maxHops){
+        if(StringUtils.isBlank(assetIn) || StringUtils.isBlank(assetOut) || StringUtils.equals(assetIn, assetOut)){
+            throw new IllegalArgumentException("assetIn and assetOut must be different assets");
+        }
+        if(amountIn == null || amountIn.signum() <= 0 || amountIn.bitLength() >= Long.SIZE){
+            throw new IllegalArgumentException("amountIn must be positive and fit in a long");
+        }
+        if(maxHops < 1 || maxHops > MAX_HOPS){
+            throw new IllegalArgumentException("maxHops must be between 1 and " + MAX_HOPS);
+        }
+        var fromIn = graph.get(assetIn);
+        var toOut = graph.get(assetOut);
+        if(fromIn == null || toOut == null){
+            return List.of();
+        }
+        var best = new Step[MAX_HOPS + 1];
+
+        // hop 1: all neighbours of assetIn
+        var layer1 = new HashMap<String, Step>();
+        for(var entry : fromIn.entrySet()){
+            var step = bestStep(entry.getValue(), assetIn, entry.getKey(), amountIn.longValue(), null);
+            if(step == null){
+                continue;
+            }
+            if(StringUtils.equals(entry.getKey(), assetOut)){
+                best[1] = step;
+            }else if(maxHops > 1){
+                layer1.put(entry.getKey(), step);
+            }
+        }
+
+        // hop 2: complete 2-hop routes, keep the best path to each asset which can complete a 3-hop route
+        var layer2 = new HashMap<String, Step>();
+        for(var step1 : layer1.values()){
+            var fromX = graph.get(step1.assetOut());
+            best[2] = better(best[2], bestStep(fromX.get(assetOut), step1.assetOut(), assetOut, step1.amountOut(), step1));
+            if(maxHops < 3){
+                continue;
+            }
+            if(fromX.size() <= toOut.size()){
+                for(var entry : fromX.entrySet()){
+                    if(toOut.containsKey(entry.getKey())){
+                        extend(layer1, layer2, step1, entry.getKey(), entry.getValue(), assetIn, assetOut);
+                    }
+                }
+            }else{
+                for(var asset : toOut.keySet()){
+                    var pools = fromX.get(asset);
+                    if(pools != null){
+                        extend(layer1, layer2, step1, asset, pools, assetIn, assetOut);
+                    }
+                }
+            }
+        }
+
+        // hop 3: from each remaining intermediate asset into assetOut
+        for(var step2 : layer2.values()){
+            best[3] = better(best[3], bestStep(toOut.get(step2.assetOut()), step2.assetOut(), assetOut, step2.amountOut(), step2));
+        }
+
+        return Arrays.stream(best)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(Step::amountOut).reversed())
+                .map(step -> toRoute(assetIn, assetOut, amountIn, step))
+                .toList();
+    }
+
+    private void extend(Map<String, Step> layer1, Map<String, Step> layer2, Step step1, String asset, List<Edge> pools, String assetIn, String assetOut){
+        if(StringUtils.equals(asset, assetIn) || StringUtils.equals(asset, assetOut)){
+            return;
+        }
+        var step = bestStep(pools, step1.assetOut(), asset, step1.amountOut(), step1);
+        if(step == null){
+            return;
+        }
+        // dominated by swapping directly into the same asset
+        var direct = layer1.get(asset);
+        if(direct != null && direct.amountOut() >= step.amountOut()){
+            return;
+        }
+        var current = layer2.get(asset);
+        if(current == null || step.amountOut() > current.amountOut()){
+            layer2.put(asset, step);
+        }
+    }
+
+    private static Step bestStep(List<Edge> pools, String assetIn, String assetOut, long amountIn, Step previous){
+        if(pools == null){
+            return null;
+        }
+        Edge bestPool = null;
+        long bestAmountOut = 0;
+        for(var pool : pools){
+            var amountOut = quote(pool.snapshot(), assetIn, amountIn);
+            if(amountOut > bestAmountOut){
+                bestPool = pool;
+                bestAmountOut = amountOut;
+            }
+        }
+        return bestPool != null
+                ? new Step(bestPool.pool(), assetIn, assetOut, amountIn, bestAmountOut, previous)
+                : null;
+    }
+
+    private static long quote(PoolSnapshot pool, String assetIn, long amountIn){
+        try{
+            return pool.getAmountOut(assetIn, amountIn);
+        }catch(ArithmeticException e){
+            // output exceeds the range of a long
+            return 0;
+        }
+    }
+
+    private static Step better(Step current, Step candidate){
+        if(candidate == null){
+            return current;
+        }
+        return current == null || candidate.amountOut() > current.amountOut() ? candidate : current;
+    }
+
+    private static Route toRoute(String assetIn, String assetOut, BigInteger amountIn, Step last){
+        var hops = new LinkedList<Hop>();
+        for(var step = last; step != null; step = step.previous()){
+            hops.addFirst(new Hop(step.pool(), step.assetIn(), step.assetOut(), BigInteger.valueOf(step.amountIn()), BigInteger.valueOf(step.amountOut())));
+        }
+        return new Route(assetIn, assetOut, amountIn, BigInteger.valueOf(last.amountOut()), List.copyOf(hops));
+    }
+
+    private record Edge(PoolState pool, PoolSnapshot snapshot) {
+    }
+
+    private record Step(PoolState pool,
+                        String assetIn,
+                        String assetOut,
+                        long amountIn,
+                        long amountOut,
+                        Step previous) {
+    }
+}
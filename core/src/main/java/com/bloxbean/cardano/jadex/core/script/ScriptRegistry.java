@@ -0,0 +1,124 @@
+package com.bloxbean.cardano.jadex.core.script;
+
+import com.bloxbean.cardano.client.backend.api.BackendService;
+import com.bloxbean.cardano.client.backend.api.ScriptService;
+import com.bloxbean.cardano.client.plutus.blueprint.PlutusBlueprintUtil;
+import com.bloxbean.cardano.client.plutus.blueprint.model.PlutusVersion;
+import com.bloxbean.cardano.client.plutus.spec.Language;
+import com.bloxbean.cardano.client.plutus.spec.PlutusScript;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.bloxbean.cardano.jadex.core.util.AddressUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry of the plutus scripts locking DEX order addresses.
+ * <p>
+ * A script is resolved once per address: from a bundled resource `/jadex/scripts/{script hash}.cbor` (hex encoded, as returned by the backend) if present,
+ * otherwise from the backend. Every script is verified against the script hash of its address before it is registered.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class ScriptRegistry {
+    private static final String RESOURCE_PATH = "/jadex/scripts/";
+    private static final Map<BackendService, ScriptRegistry> REGISTRIES = new WeakHashMap<>();
+
+    private final ScriptService scriptService;
+    // script address - script
+    private final Map<String, PlutusScript> scripts = new ConcurrentHashMap<>();
+
+    public ScriptRegistry(ScriptService scriptService) {
+        this.scriptService = scriptService;
+    }
+
+    /**
+     * @param backendService the backend service
+     * @return the registry shared by all users of the given backend service
+     */
+    public static ScriptRegistry of(BackendService backendService){
+        synchronized (REGISTRIES){
+            return REGISTRIES.computeIfAbsent(backendService, it -> new ScriptRegistry(it.getScriptService()));
+        }
+    }
+
+    /**
+     * Get the script locking an address, resolving it if not registered yet
+     *
+     * @param scriptAddress the script address, e.g. the DEX order address
+     * @param language the plutus language of the script
+     * @return the verified script
+     */
+    public PlutusScript getScript(String scriptAddress, Language language){
+        return scripts.computeIfAbsent(scriptAddress, address -> resolve(address, language));
+    }
+
+    /**
+     * Register a script, e.g. compiled from source, so it is never fetched
+     *
+     * @param scriptAddress the script address
+     * @param script the script locking the address
+     * @throws IllegalArgumentException if the script hash doesn't match the address
+     */
+    public void put(String scriptAddress, PlutusScript script){
+        verify(scriptAddress, script);
+        scripts.put(scriptAddress, script);
+    }
+
+    /**
+     * @param scriptAddress the script address
+     * @return true if the script of the address is registered
+     */
+    public boolean contains(String scriptAddress){
+        return scripts.containsKey(scriptAddress);
+    }
+
+    private PlutusScript resolve(String scriptAddress, Language language){
+        var scriptHash = AddressUtil.getScriptHashFromAddress(scriptAddress);
+        var scriptCbor = loadResource(scriptHash);
+        if(scriptCbor != null){
+            log.debug("Loaded bundled script [" + scriptHash + "]");
+        }else{
+            try{
+                scriptCbor = scriptService.getPlutusScriptCbor(scriptHash).getValue();
+            }catch(Exception e){
+                throw new IllegalStateException("Failed to get script data for " + scriptAddress, e);
+            }
+        }
+        if(StringUtils.isBlank(scriptCbor)){
+            throw new IllegalStateException("No script data found for " + scriptAddress);
+        }
+        var script = PlutusBlueprintUtil.getPlutusScriptFromCompiledCode(scriptCbor.trim(),
+                Language.PLUTUS_V1.equals(language) ? PlutusVersion.v1 : PlutusVersion.v2);
+        verify(scriptAddress, script);
+        return script;
+    }
+
+    private static String loadResource(String scriptHash){
+        try(var stream = ScriptRegistry.class.getResourceAsStream(RESOURCE_PATH + scriptHash + ".cbor")){
+            return stream != null ? new String(stream.readAllBytes(), StandardCharsets.UTF_8) : null;
+        }catch(IOException e){
+            log.warn("Failed to load bundled script [" + scriptHash + "]", e);
+            return null;
+        }
+    }
+
+    private static void verify(String scriptAddress, PlutusScript script){
+        var expectedHash = AddressUtil.getScriptHashFromAddress(scriptAddress);
+        String scriptHash;
+        try{
+            scriptHash = HexUtil.encodeHexString(script.getScriptHash());
+        }catch(Exception e){
+            throw new IllegalArgumentException("Failed to hash script for " + scriptAddress, e);
+        }
+        if(!StringUtils.equals(scriptHash, expectedHash)){
+            throw new IllegalArgumentException("Script hash [" + scriptHash + "] doesn't match the script hash [" + expectedHash + "] of " + scriptAddress);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.backend.api.BlockService;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import com.bloxbean.cardano.client.backend.model.Block;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxo;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Follows the chain tip and hands every new relevant transaction to a {@link TxHandler TxHandler}, oldest first.
+ * <p>
+ * Handlers must be idempotent: when applying a transaction fails, the follower does not advance and the same transactions are handed over again on the next sync.
+ * The hash of the last processed block is kept, so a rollback replacing it (at any height) can be detected with {@link #isOnChain()}.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class ChainFollower {
+    private final BlockService blockService;
+    private final TransactionService transactionService;
+    private final TxSource txSource;
+    private final TxHandler txHandler;
+    private volatile long lastHeight = -1;
+    private volatile String lastBlockHash;
+
+    public ChainFollower(BlockService blockService, TransactionService transactionService, TxSource txSource, TxHandler txHandler) {
+        this.blockService = blockService;
+        this.transactionService = transactionService;
+        this.txSource = txSource;
+        this.txHandler = txHandler;
+    }
+
+    /**
+     * @return the block height of the current chain tip
+     */
+    public long getTip(){
+        return getTipBlock().getHeight();
+    }
+
+    /**
+     * @return the block at the current chain tip
+     */
+    public Block getTipBlock(){
+        Block block;
+        try{
+            block = blockService.getLatestBlock().getValue();
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to fetch latest block", e);
+        }
+        if(block == null){
+            throw new IllegalStateException("No latest block available");
+        }
+        return block;
+    }
+
+    /**
+     * @return the last block height processed, -1 if not yet started
+     */
+    public long getLastHeight(){
+        return lastHeight;
+    }
+
+    /**
+     * Mark all blocks up to and including the given height as processed, e.g. after a full rescan
+     *
+     * @param height the last processed block height
+     */
+    public void reset(long height){
+        this.lastHeight = height;
+        this.lastBlockHash = null;
+    }
+
+    /**
+     * Mark all blocks up to and including the given block as processed, e.g. after a full rescan
+     *
+     * @param block the last processed block
+     */
+    public void reset(Block block){
+        this.lastHeight = block.getHeight();
+        this.lastBlockHash = block.getHash();
+    }
+
+    /**
+     * @return the hash of the last processed block, null if unknown
+     */
+    public String getLastBlockHash(){
+        return lastBlockHash;
+    }
+
+    /**
+     * Check whether the last processed block is still part of the chain.
+     * A fork usually replaces blocks at the same or a higher height, so comparing heights is not enough to detect a rollback.
+     *
+     * @return false if the block at the last processed height has a different hash or doesn't exist anymore
+     */
+    public boolean isOnChain(){
+        var blockHash = lastBlockHash;
+        if(lastHeight < 0 || blockHash == null){
+            return true;
+        }
+        try{
+            var result = blockService.getBlockByNumber(BigInteger.valueOf(lastHeight));
+            if(result.isSuccessful() && result.getValue() != null){
+                return StringUtils.equals(result.getValue().getHash(), blockHash);
+            }
+            if(result.code() == 404){
+                return false;
+            }
+            throw new IllegalStateException("Failed to fetch block " + lastHeight + " - " + result.getResponse());
+        }catch(IllegalStateException e){
+            throw e;
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to fetch block " + lastHeight, e);
+        }
+    }
+
+    /**
+     * Apply all relevant transactions in blocks after the last processed height, up to and including the given tip block
+     *
+     * @param tip the block to sync to
+     * @return the number of transactions applied
+     */
+    public synchronized int syncTo(Block tip){
+        var applied = syncTo((long) tip.getHeight());
+        if(lastHeight == tip.getHeight()){
+            this.lastBlockHash = tip.getHash();
+        }
+        return applied;
+    }
+
+    /**
+     * Apply all relevant transactions in blocks after the last processed height, up to and including the given tip.
+     * The hash of the last processed block is unknown afterwards, prefer {@link #syncTo(Block)}
+     *
+     * @param tip the block height to sync to
+     * @return the number of transactions applied
+     */
+    public synchronized int syncTo(long tip){
+        if(lastHeight < 0){
+            throw new IllegalStateException("Chain follower not started, reset to a block height first");
+        }
+        if(tip <= lastHeight){
+            return 0;
+        }
+        var txHashes = txSource.getTransactions(lastHeight, tip);
+        for(var txHash : txHashes){
+            txHandler.apply(txHash, getTransactionUtxos(txHash));
+        }
+        log.debug("Applied " + txHashes.size() + " txs for blocks " + (lastHeight + 1) + " - " + tip);
+        this.lastHeight = tip;
+        this.lastBlockHash = null;
+        return txHashes.size();
+    }
+
+    private TxContentUtxo getTransactionUtxos(String txHash){
+        try{
+            var result = transactionService.getTransactionUtxos(txHash);
+            if(!result.isSuccessful() || result.getValue() == null){
+                throw new IllegalStateException("Failed to fetch tx UTXOs for " + txHash + " - " + result.getResponse());
+            }
+            return result.getValue();
+        }catch(IllegalStateException e){
+            throw e;
+        }catch(Exception e){
+            throw new IllegalStateException("Failed to fetch tx UTXOs for " + txHash, e);
+        }
+    }
+
+    /**
+     * Applies the inputs and outputs of 1 transaction to a tracked UTxO set
+     */
+    @FunctionalInterface
+    public interface TxHandler {
+        void apply(String txHash, TxContentUtxo utxos);
+    }
+}
@@ -0,0 +1,159 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.backend.api.BlockService;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Base of the sync engines keeping a UTxO based state current by following the chain tip with a {@link ChainFollower ChainFollower}.
+ * <p>
+ * Takes care of the background polling, the initial full scan, rescans and listeners. Subclasses only load and apply their state.
+ *
+ * @param <T> the type of the tracked items
+ *
+ * @author $stik
+ */
+@Slf4j
+public abstract class ChainSync<T> {
+    protected final ChainFollower follower;
+    private final String name;
+    private final List<Consumer<Collection<T>>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param name the name of the tracked items, used for the polling thread and logging
+     * @param blockService backend service for following the chain tip
+     * @param transactionService backend service for resolving transaction inputs and outputs
+     * @param txSource source of all transactions touching the tracked UTxOs
+     */
+    protected ChainSync(String name, BlockService blockService, TransactionService transactionService, TxSource txSource) {
+        this.name = name;
+        this.follower = new ChainFollower(blockService, transactionService, txSource, this::apply);
+    }
+
+    /**
+     * Start polling the chain tip in the background. The first poll does a full scan.
+     *
+     * @param pollInterval the delay between 2 polls, typically around the block time (20 seconds)
+     */
+    public synchronized void start(Duration pollInterval){
+        if(scheduler != null){
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "jadex-" + name + "-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try{
+                sync();
+            }catch(Exception e){
+                log.warn("Failed to sync " + name + "s, retrying on next poll", e);
+            }
+        }, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop(){
+        if(scheduler != null){
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public synchronized boolean isRunning(){
+        return scheduler != null;
+    }
+
+    /**
+     * Apply all relevant transactions of blocks added since the last sync
+     *
+     * @return the number of transactions applied
+     */
+    public synchronized int sync(){
+        if(follower.getLastHeight() < 0){
+            resync();
+            return 0;
+        }
+        var tip = follower.getTipBlock();
+        if(tip.getHeight() < follower.getLastHeight() || !follower.isOnChain()){
+            log.info("Last synced block " + follower.getLastHeight() + " [" + follower.getLastBlockHash() + "] was rolled back, rescanning " + name + "s...");
+            resync();
+            return 0;
+        }
+        var applied = follower.syncTo(tip);
+        if(applied > 0){
+            notifyListeners();
+        }
+        return applied;
+    }
+
+    /**
+     * Replace all tracked items with the result of a full scan
+     */
+    public synchronized void resync(){
+        // read the tip first, transactions included while scanning are applied (again) on the next sync
+        var tip = follower.getTipBlock();
+        load();
+        follower.reset(tip);
+        log.debug(name + " sync reset to block " + tip.getHeight() + " [" + tip.getHash() + "] with " + size() + " " + name + "s");
+        notifyListeners();
+    }
+
+    /**
+     * @return the last block height applied, -1 before the initial scan
+     */
+    public long getLastHeight(){
+        return follower.getLastHeight();
+    }
+
+    /**
+     * Register a listener which receives all tracked items after every change
+     *
+     * @param listener the listener to notify
+     */
+    public void addListener(Consumer<Collection<T>> listener){
+        listeners.add(listener);
+    }
+
+    /**
+     * @return the number of tracked items
+     */
+    public abstract int size();
+
+    /**
+     * @return a snapshot of all tracked items
+     */
+    protected abstract Collection<T> snapshot();
+
+    /**
+     * Replace the tracked state with a full scan
+     */
+    protected abstract void load();
+
+    /**
+     * Apply the inputs and outputs of 1 transaction to the tracked state, see {@link ChainFollower.TxHandler TxHandler}
+     */
+    protected abstract void apply(String txHash, TxContentUtxo utxos);
+
+    private void notifyListeners(){
+        var current = snapshot();
+        for(var listener : listeners){
+            try{
+                listener.accept(current);
+            }catch(Exception e){
+                log.warn(name + " sync listener failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.backend.api.BlockService;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxo;
+import com.bloxbean.cardano.jadex.core.order.book.OrderBook;
+import com.bloxbean.cardano.jadex.core.order.book.UtxoOrder;
+import com.bloxbean.cardano.jadex.core.util.TokenUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps all open orders at the order address of 1 DEX in memory by following the chain tip.
+ * <p>
+ * After an initial full scan, only the transactions of new blocks which touch the order address are fetched.
+ * Spent order UTxOs (filled or cancelled orders) are removed, new order outputs are added. The datum of an order is only resolved once, when the order is added.
+ * The order book of an asset pair is built once, on its first request, and updated in place from then on.
+ * A full rescan is done when the last synced block is rolled back (its hash is no longer on chain) or when {@link #resync()} is called.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class OrderSync extends ChainSync<UtxoOrder> {
+    private final String orderAddress;
+    private final Function<Utxo, UtxoOrder> orderBuilder;
+    private final PairFilter pairFilter;
+    private final Supplier<? extends Collection<UtxoOrder>> fullLoader;
+    // output reference (tx hash#output index) - order
+    private final Map<String, UtxoOrder> orders = new ConcurrentHashMap<>();
+    // unit A|unit B - order book, in the orientation it was requested
+    private final Map<String, PairBook> books = new HashMap<>();
+
+    /**
+     * @param blockService backend service for following the chain tip
+     * @param transactionService backend service for resolving transaction inputs and outputs
+     * @param txSource source of all transactions touching the order address
+     * @param orderAddress the order (script) address
+     * @param orderBuilder converts an order output into a `UtxoOrder`
+     * @param pairFilter selects the order UTxOs of an asset pair, like a full scan of the pair does
+     * @param fullLoader loads all open orders, used for the initial scan and on resync
+     */
+    public OrderSync(BlockService blockService,
+                     TransactionService transactionService,
+                     TxSource txSource,
+                     String orderAddress,
+                     Function<Utxo, UtxoOrder> orderBuilder,
+                     PairFilter pairFilter,
+                     Supplier<? extends Collection<UtxoOrder>> fullLoader) {
+        super("order", blockService, transactionService, txSource);
+        this.orderAddress = orderAddress;
+        this.orderBuilder = orderBuilder;
+        this.pairFilter = pairFilter;
+        this.fullLoader = fullLoader;
+    }
+
+    /**
+     * @return all tracked open orders, of any asset pair
+     */
+    public List<UtxoOrder> getOrders(){
+        return new ArrayList<>(orders.values());
+    }
+
+    /**
+     * @param assetAPolicyId policy ID of asset A
+     * @param assetATokenName token name of asset A
+     * @param assetBPolicyId policy ID of asset B
+     * @param assetBTokenName token name of asset B
+     * @param decimalsA decimals of asset A
+     * @param decimalsB decimals of asset B
+     * @return a snapshot of the open orders of the asset pair
+     */
+    public OrderBook getOrderBook(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName, int decimalsA, int decimalsB){
+        var unitA = TokenUtil.getUnit(assetAPolicyId, assetATokenName);
+        var unitB = TokenUtil.getUnit(assetBPolicyId, assetBTokenName);
+        synchronized (books){
+            var pairBook = books.computeIfAbsent(unitA + "|" + unitB, key -> new PairBook(unitA, unitB,
+                    buildBook(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName, unitA, unitB, decimalsA, decimalsB)));
+            return pairBook.book().copy();
+        }
+    }
+
+    /**
+     * @return the number of tracked open orders
+     */
+    @Override
+    public int size(){
+        return orders.size();
+    }
+
+    @Override
+    protected Collection<UtxoOrder> snapshot(){
+        return getOrders();
+    }
+
+    @Override
+    protected void load(){
+        var loaded = fullLoader.get();
+        orders.clear();
+        loaded.forEach(order -> orders.put(outputReference(order.utxo().getTxHash(), order.utxo().getOutputIndex()), order));
+        synchronized (books){
+            books.replaceAll((key, pairBook) -> {
+                var book = pairBook.book();
+                return new PairBook(pairBook.unitA(), pairBook.unitB(), buildBook(book.getAssetAPolicyId(), book.getAssetATokenName(), book.getAssetBPolicyId(), book.getAssetBTokenName(),
+                        pairBook.unitA(), pairBook.unitB(), book.getDecimalsA(), book.getDecimalsB()));
+            });
+        }
+    }
+
+    @Override
+    protected void apply(String txHash, TxContentUtxo utxos){
+        if(utxos.getInputs() != null){
+            for(var input : utxos.getInputs()){
+                if(StringUtils.equals(input.getAddress(), orderAddress)){
+                    orders.remove(outputReference(input.getTxHash(), input.getOutputIndex()));
+                    synchronized (books){
+                        books.values().forEach(pairBook -> pairBook.book().removeOrder(input.getTxHash(), input.getOutputIndex()));
+                    }
+                }
+            }
+        }
+        if(utxos.getOutputs() == null){
+            return;
+        }
+        for(var output : utxos.getOutputs()){
+            if(!StringUtils.equals(output.getAddress(), orderAddress) || StringUtils.isBlank(output.getDataHash())){
+                continue;
+            }
+            var utxo = output.toUtxos(txHash);
+            try{
+                var order = orderBuilder.apply(utxo);
+                if(order != null && order.orderDefinition() != null){
+                    orders.put(outputReference(txHash, utxo.getOutputIndex()), order);
+                    addToBooks(order);
+                }
+            }catch(Exception e){
+                log.warn("Skipping order output [" + utxo + "], failed to build order", e);
+            }
+        }
+    }
+
+    private void addToBooks(UtxoOrder order){
+        synchronized (books){
+            for(var pairBook : books.values()){
+                if(pairFilter.test(order.utxo(), pairBook.unitA(), pairBook.unitB())){
+                    pairBook.book().addOrder(order);
+                }
+            }
+        }
+    }
+
+    private OrderBook buildBook(String assetAPolicyId, String assetATokenName, String assetBPolicyId, String assetBTokenName, String unitA, String unitB, int decimalsA, int decimalsB){
+        var pairOrders = orders.values().stream()
+                .filter(order -> pairFilter.test(order.utxo(), unitA, unitB))
+                .toList();
+        return OrderBook.of(assetAPolicyId, assetATokenName, assetBPolicyId, assetBTokenName, pairOrders, decimalsA, decimalsB);
+    }
+
+    private static String outputReference(String txHash, int outputIndex){
+        return txHash + "#" + outputIndex;
+    }
+
+    /**
+     * Selects the order UTxOs which belong to the order book of an asset pair
+     */
+    @FunctionalInterface
+    public interface PairFilter {
+        boolean test(Utxo utxo, String unitA, String unitB);
+    }
+
+    private record PairBook(String unitA, String unitB, OrderBook book) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.backend.api.BlockService;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import com.bloxbean.cardano.client.backend.model.TxContentUtxo;
+import com.bloxbean.cardano.jadex.core.pool.PoolState;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the {@link PoolState PoolState} of all pools of 1 DEX current by following the chain tip.
+ * <p>
+ * After an initial full scan, only the transactions of new blocks which move the DEX factory asset are fetched.
+ * Each pool output in those transactions replaces the previous state of the pool with the same NFT,
+ * a pool whose UTxO is spent without a new valid pool output (e.g. withdrawn or its NFT burned) is dropped.
+ * A rescan replaces all pools at once, readers never see a partially loaded pool set.
+ * A full rescan is done when the last synced block is rolled back (its hash is no longer on chain) or when {@link #resync()} is called.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class PoolSync extends ChainSync<PoolState> {
+    private final Predicate<Utxo> poolOutputFilter;
+    private final Function<Utxo, PoolState> poolStateProvider;
+    private final Supplier<? extends Collection<PoolState>> fullLoader;
+    // pool ID - pool, replaced as a whole on rescan
+    private volatile Map<String, PoolState> pools = new ConcurrentHashMap<>();
+    // output reference (tx hash#output index) of the current pool UTxO - pool ID, only accessed while syncing
+    private final Map<String, String> poolIdsByOutput = new ConcurrentHashMap<>();
+
+    /**
+     * @param blockService backend service for following the chain tip
+     * @param transactionService backend service for resolving transaction outputs
+     * @param txSource source of all transactions touching pool UTxOs
+     * @param poolOutputFilter selects valid pool outputs
+     * @param poolStateProvider converts a pool output into a `PoolState`
+     * @param fullLoader loads all pools, used for the initial scan and on resync
+     */
+    public PoolSync(BlockService blockService,
+                    TransactionService transactionService,
+                    TxSource txSource,
+                    Predicate<Utxo> poolOutputFilter,
+                    Function<Utxo, PoolState> poolStateProvider,
+                    Supplier<? extends Collection<PoolState>> fullLoader) {
+        super("pool", blockService, transactionService, txSource);
+        this.poolOutputFilter = poolOutputFilter;
+        this.poolStateProvider = poolStateProvider;
+        this.fullLoader = fullLoader;
+    }
+
+    /**
+     * @return the current state of all tracked pools
+     */
+    public List<PoolState> getPools(){
+        return new ArrayList<>(pools.values());
+    }
+
+    /**
+     * @param poolId the pool ID (asset name of the pool NFT)
+     * @return the current state of the pool or null if not tracked
+     */
+    public PoolState getPool(String poolId){
+        return StringUtils.isNotBlank(poolId) ? pools.get(poolId) : null;
+    }
+
+    @Override
+    public int size(){
+        return pools.size();
+    }
+
+    @Override
+    protected Collection<PoolState> snapshot(){
+        return getPools();
+    }
+
+    @Override
+    protected void load(){
+        var loaded = new ConcurrentHashMap<String, PoolState>();
+        fullLoader.get().forEach(pool -> loaded.put(pool.id(), pool));
+        this.pools = loaded;
+        poolIdsByOutput.clear();
+        loaded.values().forEach(pool -> poolIdsByOutput.put(outputReference(pool.getTxHash(), pool.getOutputIndex()), pool.id()));
+    }
+
+    @Override
+    protected void apply(String txHash, TxContentUtxo utxos){
+        var spent = new HashSet<String>();
+        if(utxos.getInputs() != null){
+            for(var input : utxos.getInputs()){
+                var poolId = poolIdsByOutput.remove(outputReference(input.getTxHash(), input.getOutputIndex()));
+                if(poolId != null){
+                    spent.add(poolId);
+                }
+            }
+        }
+        // replace first and drop afterwards, so a pool which stays alive is never missing for readers
+        if(utxos.getOutputs() != null){
+            for(var output : utxos.getOutputs()){
+                var utxo = output.toUtxos(txHash);
+                if(!poolOutputFilter.test(utxo)){
+                    continue;
+                }
+                try{
+                    var pool = poolStateProvider.apply(utxo);
+                    if(pool != null){
+                        var previous = pools.put(pool.id(), pool);
+                        if(previous != null){
+                            poolIdsByOutput.remove(outputReference(previous.getTxHash(), previous.getOutputIndex()));
+                        }
+                        poolIdsByOutput.put(outputReference(txHash, utxo.getOutputIndex()), pool.id());
+                        spent.remove(pool.id());
+                    }
+                }catch(Exception e){
+                    log.warn("Skipping pool output [" + utxo + "], failed to build pool state", e);
+                }
+            }
+        }
+        for(var poolId : spent){
+            log.debug("Pool [" + poolId + "] spent without a new pool output, dropping it");
+            pools.remove(poolId);
+        }
+    }
+
+    private static String outputReference(String txHash, int outputIndex){
+        return txHash + "#" + outputIndex;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bloxbean.cardano.jadex.core.sync;
+
+import com.bloxbean.cardano.client.api.common.OrderEnum;
+import com.bloxbean.cardano.client.backend.api.AddressService;
+import com.bloxbean.cardano.client.backend.api.AssetService;
+import com.bloxbean.cardano.client.backend.model.AddressTransactionContent;
+import com.bloxbean.cardano.client.backend.model.AssetTransactionContent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Source of transactions relevant for a {@link ChainFollower ChainFollower}.
+ *
+ * @author $stik
+ */
+@FunctionalInterface
+public interface TxSource {
+    int PAGE_SIZE = 100;
+
+    /**
+     * Retrieve the hashes of all relevant transactions included in blocks after `afterHeight`, up to and including `upToHeight`
+     *
+     * @param afterHeight the last block height which has already been processed
+     * @param upToHeight the highest block height to include
+     * @return transaction hashes in chain order (oldest first)
+     */
+    List<String> getTransactions(long afterHeight, long upToHeight);
+
+    /**
+     * A source of all transactions moving the given asset.
+     * Every pool UTxO holds the DEX factory asset, so all transactions touching a pool move this asset.
+     *
+     * @param assetService backend service for resolving asset transactions
+     * @param unit the unit of the asset to follow
+     * @return a {@link TxSource TxSource} for the given asset
+     */
+    static TxSource ofAsset(AssetService assetService, String unit){
+        return (afterHeight, upToHeight) -> {
+            try{
+                return collect(page -> assetService.getTransactions(unit, PAGE_SIZE, page, OrderEnum.desc).getValue(),
+                        AssetTransactionContent::getBlockHeight,
+                        AssetTransactionContent::getTxHash,
+                        afterHeight,
+                        upToHeight);
+            }catch(Exception e){
+                throw new IllegalStateException("Failed to fetch transactions for asset [" + unit + "]", e);
+            }
+        };
+    }
+
+    /**
+     * A source of all transactions spending from or paying to the given address, e.g. the order script address.
+     *
+     * @param addressService backend service for resolving address transactions
+     * @param address the address to follow
+     * @return a {@link TxSource TxSource} for the given address
+     */
+    static TxSource ofAddress(AddressService addressService, String address){
+        return (afterHeight, upToHeight) -> {
+            try{
+                return collect(page -> addressService.getTransactions(address, PAGE_SIZE, page, OrderEnum.desc).getValue(),
+                        AddressTransactionContent::getBlockHeight,
+                        AddressTransactionContent::getTxHash,
+                        afterHeight,
+                        upToHeight);
+            }catch(Exception e){
+                throw new IllegalStateException("Failed to fetch transactions for address [" + address + "]", e);
+            }
+        };
+    }
+
+    /*
+     * pages through transactions (newest first) until a transaction at or below `afterHeight` is found
+     */
+    private static <T> List<String> collect(PageLoader<T> pageLoader, ToLongFunction<T> blockHeight, Function<T, String> txHash, long afterHeight, long upToHeight) throws Exception {
+        var result = new ArrayList<String>();
+        var page = 1;
+        while(true){
+            var txs = pageLoader.load(page);
+            if(txs == null || txs.isEmpty()){
+                break;
+            }
+            for(var tx : txs){
+                if(blockHeight.applyAsLong(tx) <= afterHeight){
+                    Collections.reverse(result);
+                    return result;
+                }
+                if(blockHeight.applyAsLong(tx) <= upToHeight){
+                    result.add(txHash.apply(tx));
+                }
+            }
+            page += 1;
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Loads 1 page (starting at 1) of transactions, newest first
+     */
+    @FunctionalInterface
+    interface PageLoader<T> {
+        List<T> load(int page) throws Exception;
+    }
+}
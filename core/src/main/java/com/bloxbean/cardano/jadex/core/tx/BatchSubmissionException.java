@@ -0,0 +1,35 @@
+package com.bloxbean.cardano.jadex.core.tx;
+
+import java.util.List;
+
+/**
+ * Thrown when a batch of transactions fails part way.
+ * Carries the transactions which were confirmed before the failure and the items (orders or order UTxOs) which were not processed,
+ * so the caller can tell which part of the batch is on chain.
+ *
+ * @author $stik
+ */
+public class BatchSubmissionException extends IllegalStateException {
+    private final List<String> txHashes;
+    private final List<?> remaining;
+
+    public BatchSubmissionException(String message, List<String> txHashes, List<?> remaining, Throwable cause) {
+        super(message, cause);
+        this.txHashes = List.copyOf(txHashes);
+        this.remaining = List.copyOf(remaining);
+    }
+
+    /**
+     * @return the IDs of the transactions confirmed before the failure
+     */
+    public List<String> getTxHashes() {
+        return txHashes;
+    }
+
+    /**
+     * @return the items of the batch which are not confirmed, e.g. the {@link com.bloxbean.cardano.jadex.core.order.definition.OrderDefinition order definitions} of a swap batch
+     */
+    public List<?> getRemaining() {
+        return remaining;
+    }
+}
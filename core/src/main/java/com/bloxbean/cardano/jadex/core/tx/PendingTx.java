@@ -0,0 +1,20 @@
+package com.bloxbean.cardano.jadex.core.tx;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A submitted transaction which may not be included in a block yet
+ *
+ * @param txHash the transaction ID
+ * @param confirmation completes with the transaction ID once the transaction is included in a block,
+ *                     or exceptionally with a {@link java.util.concurrent.TimeoutException TimeoutException} if it isn't included in time
+ *
+ * @author $stik
+ */
+public record PendingTx(String txHash,
+                        CompletableFuture<String> confirmation) {
+
+    public boolean isConfirmed(){
+        return confirmation.isDone() && !confirmation.isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bloxbean.cardano.jadex.core.tx;
+
+import com.bloxbean.cardano.client.backend.api.BackendService;
+import com.bloxbean.cardano.client.backend.api.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the confirmation of submitted transactions, using 1 background thread for all pending transactions.
+ * <p>
+ * Every poll checks each pending transaction once. Confirmed transactions complete their future with the transaction ID,
+ * transactions which are not confirmed before their deadline complete exceptionally with a {@link TimeoutException TimeoutException}.
+ * The background thread only runs while transactions are pending, it stops once all are done and is restarted by the next {@link #track(String, Duration) track}.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class TxConfirmationPoller {
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(2);
+    private static final Map<BackendService, TxConfirmationPoller> POLLERS = new WeakHashMap<>();
+
+    private final TransactionService transactionService;
+    private final Duration pollInterval;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public TxConfirmationPoller(TransactionService transactionService, Duration pollInterval) {
+        this.transactionService = transactionService;
+        this.pollInterval = pollInterval != null ? pollInterval : DEFAULT_POLL_INTERVAL;
+    }
+
+    /**
+     * @param backendService the backend service
+     * @return the poller shared by all users of the given backend service
+     */
+    public static TxConfirmationPoller of(BackendService backendService){
+        synchronized (POLLERS){
+            return POLLERS.computeIfAbsent(backendService, it -> new TxConfirmationPoller(it.getTransactionService(), DEFAULT_POLL_INTERVAL));
+        }
+    }
+
+    /**
+     * Start tracking a submitted transaction. Tracking the same transaction again returns the same future
+     *
+     * @param txHash the transaction ID
+     * @param timeout the maximum time to wait for the confirmation
+     * @return a future completing with the transaction ID once the transaction is included in a block
+     */
+    public CompletableFuture<String> track(String txHash, Duration timeout){
+        var deadline = System.nanoTime() + timeout.toNanos();
+        var entry = pending.computeIfAbsent(txHash, it -> new Pending(new CompletableFuture<>(), deadline));
+        start();
+        return entry.confirmation();
+    }
+
+    /**
+     * @return the number of transactions waiting for confirmation
+     */
+    public int size(){
+        return pending.size();
+    }
+
+    public synchronized void stop(){
+        if(scheduler != null){
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private synchronized void start(){
+        if(scheduler != null){
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "jadex-tx-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(){
+        for(var entry : pending.entrySet()){
+            var txHash = entry.getKey();
+            var confirmation = entry.getValue().confirmation();
+            if(confirmation.isDone()){
+                // cancelled by the caller
+                pending.remove(txHash);
+                continue;
+            }
+            try{
+                if(transactionService.getTransaction(txHash).isSuccessful()){
+                    log.debug("Transaction [" + txHash + "] confirmed");
+                    pending.remove(txHash);
+                    confirmation.complete(txHash);
+                    continue;
+                }
+            }catch(Exception e){
+                log.debug("Failed to fetch transaction [" + txHash + "] - " + ExceptionUtils.getMessage(e));
+            }
+            if(System.nanoTime() - entry.getValue().deadline() >= 0){
+                pending.remove(txHash);
+                confirmation.completeExceptionally(new TimeoutException("Transaction [" + txHash + "] not confirmed in time"));
+            }
+        }
+        stopIfIdle();
+    }
+
+    /*
+     * track() registers before it starts the scheduler, so a transaction tracked concurrently is never left without a scheduler
+     */
+    private synchronized void stopIfIdle(){
+        if(pending.isEmpty() && scheduler != null){
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private record Pending(CompletableFuture<String> confirmation, long deadline) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.bloxbean.cardano.jadex.core.tx;
+
+import com.bloxbean.cardano.client.account.Account;
+import com.bloxbean.cardano.client.api.UtxoSupplier;
+import com.bloxbean.cardano.client.api.common.OrderEnum;
+import com.bloxbean.cardano.client.api.model.Amount;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.client.transaction.spec.Transaction;
+import com.bloxbean.cardano.client.transaction.spec.TransactionOutput;
+import com.bloxbean.cardano.client.util.HexUtil;
+import com.bloxbean.cardano.jadex.core.order.collateral.Collateral;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Chains transactions of 1 wallet without waiting for confirmations.
+ * <p>
+ * The {@link #getUtxoSupplier() UTxO supplier} of a session returns the confirmed UTxOs of the wallet,
+ * minus the UTxOs spent by submitted but unconfirmed transactions, plus the outputs those transactions pay back to the wallet (e.g. change).
+ * The next transaction can spend these outputs right away.
+ * <p>
+ * A confirmed transaction is dropped from the session, its outputs are returned by the backend from then on.
+ * If a transaction fails (rejected or not confirmed in time), it is rolled back together with all pending transactions spending its outputs,
+ * whose confirmations fail as well.
+ *
+ * @author $stik
+ */
+@Slf4j
+public class WalletSession {
+    private final Account account;
+    private final UtxoSupplier confirmedUtxoSupplier;
+    private final UtxoSupplier utxoSupplier = new ChainedUtxoSupplier();
+    // tx hash - pending transaction, in order of submission
+    private final Map<String, PendingEntry> pending = new LinkedHashMap<>();
+    private volatile Collateral collateral;
+
+    /**
+     * @param account the wallet of this session
+     * @param confirmedUtxoSupplier supplies the confirmed UTxOs, e.g. a {@link com.bloxbean.cardano.client.backend.api.DefaultUtxoSupplier DefaultUtxoSupplier}
+     */
+    public WalletSession(Account account, UtxoSupplier confirmedUtxoSupplier) {
+        this.account = account;
+        this.confirmedUtxoSupplier = confirmedUtxoSupplier;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    /**
+     * @return a UTxO supplier including the outputs of pending transactions of this session
+     */
+    public UtxoSupplier getUtxoSupplier() {
+        return utxoSupplier;
+    }
+
+    /**
+     * @return the collateral of the script transactions of this session, null if not set yet
+     */
+    public Collateral getCollateral() {
+        return collateral;
+    }
+
+    /**
+     * Set the collateral of the script transactions of this session.
+     * The collateral UTxO is never offered as a regular input, so a transaction can't spend the collateral of the next one
+     *
+     * @param collateral the collateral UTxO
+     * @throws IllegalArgumentException if the UTxO is spent by a pending transaction
+     */
+    public void setCollateral(Collateral collateral) {
+        if(collateral != null && isSpent(collateral.utxoHash(), collateral.utxoIndex())){
+            throw new IllegalArgumentException("Collateral [" + outputReference(collateral.utxoHash(), collateral.utxoIndex()) + "] is spent by a pending transaction");
+        }
+        this.collateral = collateral;
+    }
+
+    /**
+     * @param txHash the transaction ID of the UTxO
+     * @param outputIndex the output index of the UTxO
+     * @return true if a pending transaction of this session spends the UTxO
+     */
+    public boolean isSpent(String txHash, int outputIndex) {
+        return getSpent().contains(outputReference(txHash, outputIndex));
+    }
+
+    /**
+     * @return the number of submitted transactions which are not confirmed yet
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Register a submitted transaction, making its outputs to the wallet available to the next transactions
+     *
+     * @param txHash the transaction ID
+     * @param transaction the submitted transaction
+     * @param confirmation completes once the transaction is confirmed, or exceptionally if it failed
+     */
+    public void register(String txHash, Transaction transaction, CompletableFuture<String> confirmation) {
+        var spent = new HashSet<String>();
+        transaction.getBody().getInputs().forEach(input -> spent.add(outputReference(input.getTransactionId(), input.getIndex())));
+        var outputs = new ArrayList<Utxo>();
+        var txOutputs = transaction.getBody().getOutputs();
+        for(int index = 0; index < txOutputs.size(); index++){
+            var output = txOutputs.get(index);
+            if(StringUtils.equals(output.getAddress(), account.baseAddress())){
+                outputs.add(toUtxo(txHash, index, output));
+            }
+        }
+        synchronized (this){
+            var entry = new PendingEntry(spent, outputs, new HashSet<>(), confirmation);
+            for(var reference : spent){
+                var parent = pending.get(StringUtils.substringBefore(reference, "#"));
+                if(parent != null){
+                    parent.children().add(txHash);
+                }
+            }
+            pending.put(txHash, entry);
+        }
+        log.debug("Registered pending transaction [" + txHash + "] spending " + spent.size() + " inputs with " + outputs.size() + " outputs to the wallet");
+        confirmation.whenComplete((hash, error) -> {
+            if(error == null){
+                confirmed(txHash);
+            }else{
+                rollback(txHash, error);
+            }
+        });
+    }
+
+    private synchronized void confirmed(String txHash) {
+        pending.remove(txHash);
+    }
+
+    private void rollback(String txHash, Throwable cause) {
+        var rolledBack = new ArrayList<PendingEntry>();
+        synchronized (this){
+            collect(txHash, rolledBack);
+        }
+        log.warn("Rolled back transaction [" + txHash + "] and " + (rolledBack.size() - 1) + " descendants - " + ExceptionUtils.getMessage(cause));
+        rolledBack.forEach(entry -> entry.confirmation().completeExceptionally(
+                new IllegalStateException("Ancestor transaction [" + txHash + "] failed", cause)));
+    }
+
+    private void collect(String txHash, List<PendingEntry> rolledBack) {
+        var entry = pending.remove(txHash);
+        if(entry == null){
+            return;
+        }
+        rolledBack.add(entry);
+        entry.children().forEach(child -> collect(child, rolledBack));
+    }
+
+    private synchronized Set<String> getSpent() {
+        var spent = new HashSet<String>();
+        pending.values().forEach(entry -> spent.addAll(entry.spent()));
+        return spent;
+    }
+
+    private synchronized List<Utxo> getPendingOutputs() {
+        var outputs = new ArrayList<Utxo>();
+        pending.values().forEach(entry -> outputs.addAll(entry.outputs()));
+        return outputs;
+    }
+
+    private static Utxo toUtxo(String txHash, int index, TransactionOutput output) {
+        var amounts = new ArrayList<Amount>();
+        amounts.add(Amount.lovelace(output.getValue().getCoin()));
+        if(output.getValue().getMultiAssets() != null){
+            output.getValue().getMultiAssets().forEach(multiAsset -> multiAsset.getAssets().forEach(asset ->
+                    amounts.add(Amount.asset(multiAsset.getPolicyId() + HexUtil.encodeHexString(asset.getNameAsBytes()), asset.getValue()))));
+        }
+        return Utxo.builder()
+                .txHash(txHash)
+                .outputIndex(index)
+                .address(output.getAddress())
+                .amount(amounts)
+                .dataHash(output.getDatumHash() != null ? HexUtil.encodeHexString(output.getDatumHash()) : null)
+                .build();
+    }
+
+    private static String outputReference(String txHash, int outputIndex) {
+        return txHash + "#" + outputIndex;
+    }
+
+    /*
+     * all UTxOs are returned on the first page, so spent UTxOs filtered from a page never end the paging early
+     */
+    private class ChainedUtxoSupplier implements UtxoSupplier {
+
+        @Override
+        public List<Utxo> getPage(String address, Integer nrOfItems, Integer page, OrderEnum order) {
+            if(page != null && page > 0){
+                return Collections.emptyList();
+            }
+            var spent = getSpent();
+            var reserved = collateral;
+            if(reserved != null){
+                spent.add(outputReference(reserved.utxoHash(), reserved.utxoIndex()));
+            }
+            var utxos = new ArrayList<Utxo>();
+            for(var utxo : confirmedUtxoSupplier.getAll(address)){
+                if(!spent.contains(outputReference(utxo.getTxHash(), utxo.getOutputIndex()))){
+                    utxos.add(utxo);
+                }
+            }
+            for(var utxo : getPendingOutputs()){
+                if(StringUtils.equals(utxo.getAddress(), address) && !spent.contains(outputReference(utxo.getTxHash(), utxo.getOutputIndex()))){
+                    utxos.add(utxo);
+                }
+            }
+            return utxos;
+        }
+
+        @Override
+        public Optional<Utxo> getTxOutput(String txHash, int outputIndex) {
+            var pendingOutput = getPendingOutputs().stream()
+                    .filter(utxo -> StringUtils.equals(utxo.getTxHash(), txHash) && utxo.getOutputIndex() == outputIndex)
+                    .findFirst();
+            return pendingOutput.isPresent()
+                    ? pendingOutput
+                    : confirmedUtxoSupplier.getTxOutput(txHash, outputIndex);
+        }
+    }
+
+    private record PendingEntry(Set<String> spent, List<Utxo> outputs, Set<String> children, CompletableFuture<String> confirmation) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.bloxbean.cardano.jadex.core.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Util class for running backend requests concurrently
+ *
+ * @author $stik
+ */
+@UtilityClass
+public class ConcurrencyUtil {
+
+    /**
+     * Fetch all pages of multiple paged sources, with at most `concurrency` page requests in flight.
+     * <p>
+     * Pages are pipelined: as soon as a request completes, its slot is refilled with the next page of the active source which has the fewest requests in flight.
+     * With fewer sources than slots, consecutive pages of the same source are prefetched, and a long source never holds back the others.
+     * A source is complete at its first empty page, speculatively fetched pages after it are discarded.
+     * The first failing page request fails the whole call, requests still in flight are cancelled.
+     *
+     * @param sources the sources to fetch, e.g. addresses
+     * @param pageLoader loads 1 page (starting at 1) of a source, returns an empty list when there are no more items
+     * @param concurrency the maximum number of page requests in flight
+     * @param executor the executor running the page requests
+     * @return all items, ordered by source (in order of `sources`) and page
+     * @param <S> the source type
+     * @param <T> the item type
+     */
+    public static <S, T> List<T> fetchPages(List<S> sources, BiFunction<S, Integer, List<T>> pageLoader, int concurrency, Executor executor){
+        var slots = Math.max(1, concurrency);
+        var states = new LinkedHashMap<S, SourceState<T>>();
+        sources.forEach(source -> states.put(source, new SourceState<>()));
+        var completions = new LinkedBlockingQueue<PageResult<S, T>>();
+        var requests = new ArrayList<CompletableFuture<List<T>>>();
+        var inFlight = 0;
+        while(true){
+            while(inFlight < slots){
+                var next = nextSource(states);
+                if(next == null){
+                    break;
+                }
+                var source = next.getKey();
+                var state = next.getValue();
+                var page = state.nextPage++;
+                state.inFlight++;
+                inFlight++;
+                var request = CompletableFuture.supplyAsync(() -> pageLoader.apply(source, page), executor);
+                request.whenComplete((items, error) -> completions.add(new PageResult<>(source, page, items, error)));
+                requests.add(request);
+            }
+            if(inFlight == 0){
+                break;
+            }
+            PageResult<S, T> result;
+            try{
+                result = completions.take();
+            }catch(InterruptedException e){
+                requests.forEach(request -> request.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while fetching pages", e);
+            }
+            inFlight--;
+            requests.removeIf(CompletableFuture::isDone);
+            var state = states.get(result.source());
+            state.inFlight--;
+            if(result.error() != null){
+                // requests which did not start yet are skipped, running ones are left to finish on their own
+                requests.forEach(request -> request.cancel(true));
+                var cause = result.error() instanceof CompletionException && result.error().getCause() != null
+                        ? result.error().getCause()
+                        : result.error();
+                if(cause instanceof RuntimeException runtimeException){
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(cause);
+            }
+            if(result.items() == null || result.items().isEmpty()){
+                state.lastPage = Math.min(state.lastPage, result.page() - 1);
+            }else if(result.page() <= state.lastPage){
+                state.pages.put(result.page(), result.items());
+            }
+        }
+        return states.values().stream()
+                .flatMap(state -> state.pages.headMap(state.lastPage, true).values().stream())
+                .flatMap(Collection::stream)
+                .toList();
+    }
+
+    /*
+     * the source which still has pages and the fewest requests in flight, the first one in order of `sources` on a tie
+     */
+    private static <S, T> Map.Entry<S, SourceState<T>> nextSource(Map<S, SourceState<T>> states){
+        Map.Entry<S, SourceState<T>> next = null;
+        for(var entry : states.entrySet()){
+            var state = entry.getValue();
+            if(state.nextPage <= state.lastPage && (next == null || state.inFlight < next.getValue().inFlight)){
+                next = entry;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Apply a (blocking) mapper to all items, with at most `concurrency` items in flight.
+     * <p>
+     * `concurrency` workers pull the next item until all items are mapped, so the number of in flight items is bounded
+     * even on an unbounded executor (e.g. virtual threads). A failing mapper fails the whole call.
+     *
+     * @param items the items to map
+     * @param mapper the mapper, e.g. a backend request per item
+     * @param concurrency the maximum number of items in flight, 1 maps sequentially on the calling thread
+     * @param executor the executor running the workers. If null, items are mapped sequentially
+     * @return the mapped items, in order of `items`
+     * @param <T> the item type
+     * @param <R> the result type
+     */
+    public static <T, R> List<R> map(List<T> items, Function<T, R> mapper, int concurrency, Executor executor){
+        var workers = Math.min(Math.max(1, concurrency), items.size());
+        if(workers <= 1 || executor == null){
+            return items.stream().map(mapper).toList();
+        }
+        var results = new AtomicReferenceArray<R>(items.size());
+        var next = new AtomicInteger();
+        var tasks = new ArrayList<CompletableFuture<Void>>();
+        for(int worker = 0; worker < workers; worker++){
+            tasks.add(CompletableFuture.runAsync(() -> {
+                int index;
+                while((index = next.getAndIncrement()) < items.size()){
+                    results.set(index, mapper.apply(items.get(index)));
+                }
+            }, executor));
+        }
+        tasks.forEach(ConcurrencyUtil::join);
+        var mapped = new ArrayList<R>(items.size());
+        for(int index = 0; index < items.size(); index++){
+            mapped.add(results.get(index));
+        }
+        return mapped;
+    }
+
+    /**
+     * Create a fixed size executor with daemon threads
+     *
+     * @param threads the number of threads
+     * @param name the thread name prefix
+     * @return a new executor
+     */
+    public static ExecutorService newDaemonExecutor(int threads, String name){
+        var counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            var thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Wait for a future, unwrapping the cause of a failure
+     *
+     * @param future the future to wait for
+     * @return the result of the future
+     * @param <T> the result type
+     */
+    public static <T> T join(CompletableFuture<T> future){
+        try{
+            return future.join();
+        }catch(CompletionException e){
+            if(e.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record PageResult<S, T>(S source, int page, List<T> items, Throwable error) {
+    }
+
+    private static class SourceState<T> {
+        private int nextPage = 1;
+        // the last page with items, unknown until the first empty page completes
+        private int lastPage = Integer.MAX_VALUE;
+        private int inFlight;
+        private final TreeMap<Integer, List<T>> pages = new TreeMap<>();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bloxbean.cardano.jadex.core.util;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Util class for allocation-free `long` arithmetic with 128 bit intermediate products.
+ * <p>
+ * All methods accept non-negative values only and return -1 when the result doesn't fit in a (non-negative) `long`,
+ * so callers can fall back to {@link java.math.BigInteger BigInteger} arithmetic.
+ *
+ * @author $stik
+ */
+@UtilityClass
+public class LongMathUtil {
+    private static final long HALF_WORD = 1L << 32;
+    private static final long LOW_MASK = HALF_WORD - 1;
+
+    /**
+     * @return `a * b` or -1 on overflow
+     */
+    public static long multiply(long a, long b){
+        var high = Math.multiplyHigh(a, b);
+        var low = a * b;
+        return high == 0 && low >= 0 ? low : -1;
+    }
+
+    /**
+     * @return `a + b` or -1 on overflow
+     */
+    public static long add(long a, long b){
+        var sum = a + b;
+        return sum >= 0 ? sum : -1;
+    }
+
+    /**
+     * @return `floor(a * b / divisor)` or -1 if the quotient doesn't fit in a `long`
+     */
+    public static long mulDiv(long a, long b, long divisor){
+        var high = Math.multiplyHigh(a, b);
+        var low = a * b;
+        if(high == 0 && low >= 0){
+            return low / divisor;
+        }
+        if(Long.compareUnsigned(high, divisor) >= 0){
+            return -1;
+        }
+        var quotient = divideUnsigned(high, low, divisor);
+        return quotient >= 0 ? quotient : -1;
+    }
+
+    /**
+     * @return `a * b / divisor` rounded {@link java.math.RoundingMode#HALF_DOWN HALF_DOWN} or -1 if the quotient doesn't fit in a `long`
+     */
+    public static long mulDivHalfDown(long a, long b, long divisor){
+        var quotient = mulDiv(a, b, divisor);
+        if(quotient < 0){
+            return -1;
+        }
+        // the remainder is smaller than the divisor, so its low 64 bits are exact
+        var remainder = a * b - quotient * divisor;
+        return remainder > divisor - remainder ? quotient + 1 : quotient;
+    }
+
+    /*
+     * unsigned division of the 128 bit value (high:low) by divisor, requires high < divisor (unsigned).
+     * Hacker's Delight, divlu
+     */
+    private static long divideUnsigned(long high, long low, long divisor){
+        var shift = Long.numberOfLeadingZeros(divisor);
+        divisor <<= shift;
+        var divisorHigh = divisor >>> 32;
+        var divisorLow = divisor & LOW_MASK;
+        var numerator32 = (high << shift) | (shift == 0 ? 0 : low >>> (64 - shift));
+        var numerator10 = low << shift;
+        var numerator1 = numerator10 >>> 32;
+        var numerator0 = numerator10 & LOW_MASK;
+
+        var quotient1 = Long.divideUnsigned(numerator32, divisorHigh);
+        var remainder = numerator32 - quotient1 * divisorHigh;
+        while(Long.compareUnsigned(quotient1, HALF_WORD) >= 0
+                || Long.compareUnsigned(quotient1 * divisorLow, remainder * HALF_WORD + numerator1) > 0){
+            quotient1--;
+            remainder += divisorHigh;
+            if(Long.compareUnsigned(remainder, HALF_WORD) >= 0){
+                break;
+            }
+        }
+
+        var numerator21 = numerator32 * HALF_WORD + numerator1 - quotient1 * divisor;
+        var quotient0 = Long.divideUnsigned(numerator21, divisorHigh);
+        remainder = numerator21 - quotient0 * divisorHigh;
+        while(Long.compareUnsigned(quotient0, HALF_WORD) >= 0
+                || Long.compareUnsigned(quotient0 * divisorLow, remainder * HALF_WORD + numerator0) > 0){
+            quotient0--;
+            remainder += divisorHigh;
+            if(Long.compareUnsigned(remainder, HALF_WORD) >= 0){
+                break;
+            }
+        }
+        return quotient1 * HALF_WORD + quotient0;
+    }
+}
@@ -14,9 +14,12 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Util class for {@link OrderDefinition OrderDefinition} calculations
@@ -203,6 +206,109 @@ public class OrderUtil {
         return poolOrders;
     }
 
+    /**
+     * Split an amountIn over the provided constant product Pools, so the marginal price (including the pool fee) is equal in all pools used.
+     * <p>
+     * The split is calculated in closed form, so unlike {@link #smartSplit(String, BigInteger, List, BigDecimal, int, int) smartSplit} the calculation time doesn't depend on `amountIn`.
+     * For a pool with reserves `x` (in) and `y` (out) and fee modifier `g` (share of the input remaining after the fee), the marginal price after swapping `a` is `(x + g*a)^2 / (g*x*y)`.
+     * Equalizing this price over the pools gives `a = (s * sqrt(x*y/g) - x/g)`, with `s` the square root of the common marginal price.
+     * Pools are added in order of their initial marginal price as long as they are cheaper than the common marginal price.
+     *
+     * @param assetIn the asset used as input for the swap
+     * @param amountIn the amount of assetIn that will be divided over different pools
+     * @param allPools all pools to check
+     * @param slippagePercentage the max marginal price increase that can be tolerated compared to the best pool (0 = 0%, 1 = 100%). If slippage is reached not all `amountIn` will be used
+     * @return a list of `AmountInPerPool` representing the best amount of assetIn to swap per pool, best pool first
+     */
+    public static List<AmountInPerPool> analyticSplit(String assetIn, BigInteger amountIn, List<Pool> allPools, BigDecimal slippagePercentage){
+        var mc = MathContext.DECIMAL128;
+        var pools = allPools.stream()
+                .filter(pool -> TokenUtil.equals(pool.getAssetA(), assetIn) || TokenUtil.equals(pool.getAssetB(), assetIn))
+                .map(pool -> SplitPool.of(pool, assetIn, mc))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(SplitPool::threshold))
+                .toList();
+        var poolOrders = new ArrayList<AmountInPerPool>();
+        if(pools.isEmpty() || !BigIntegerUtil.isPositive(amountIn)){
+            return poolOrders;
+        }
+
+        // add pools while the common marginal price exceeds their initial marginal price
+        var amount = new BigDecimal(amountIn);
+        var sumInOverFee = BigDecimal.ZERO;
+        var sumSqrtReserves = BigDecimal.ZERO;
+        BigDecimal level = null;
+        for(var pool : pools){
+            if(level != null && level.compareTo(pool.threshold()) <= 0){
+                break;
+            }
+            sumInOverFee = sumInOverFee.add(pool.inOverFee());
+            sumSqrtReserves = sumSqrtReserves.add(pool.sqrtReserves());
+            level = amount.add(sumInOverFee).divide(sumSqrtReserves, mc);
+        }
+        var capped = false;
+        if(slippagePercentage != null){
+            var maxLevel = pools.get(0).threshold().multiply(BigDecimal.ONE.add(slippagePercentage).sqrt(mc), mc);
+            if(level.compareTo(maxLevel) > 0){
+                level = maxLevel;
+                capped = true;
+            }
+        }
+
+        var amounts = new ArrayList<BigDecimal>();
+        var rounded = new ArrayList<BigInteger>();
+        for(var pool : pools){
+            if(level.compareTo(pool.threshold()) <= 0){
+                break;
+            }
+            var poolAmount = level.multiply(pool.sqrtReserves(), mc).subtract(pool.inOverFee(), mc).max(BigDecimal.ZERO);
+            amounts.add(poolAmount);
+            rounded.add(poolAmount.setScale(0, RoundingMode.FLOOR).toBigInteger());
+        }
+        // distribute the rounding remainder over the pools with the largest fractions
+        if(!capped){
+            var remainder = amountIn.subtract(rounded.stream().reduce(BigInteger.ZERO, BigInteger::add));
+            var byFraction = new ArrayList<Integer>();
+            for(int i = 0; i < amounts.size(); i++){
+                byFraction.add(i);
+            }
+            byFraction.sort(Comparator.comparing((Integer i) -> amounts.get(i).remainder(BigDecimal.ONE)).reversed());
+            for(int i = 0; remainder.signum() > 0; i++){
+                var index = byFraction.get(i % byFraction.size());
+                rounded.set(index, rounded.get(index).add(BigInteger.ONE));
+                remainder = remainder.subtract(BigInteger.ONE);
+            }
+        }
+        for(int i = 0; i < rounded.size(); i++){
+            if(rounded.get(i).signum() > 0){
+                poolOrders.add(new AmountInPerPool(pools.get(i).pool().getId(), rounded.get(i)));
+            }
+        }
+        return poolOrders;
+    }
+
+    /**
+     * Pool reserves prepared for {@link #analyticSplit(String, BigInteger, List, BigDecimal) analyticSplit}
+     *
+     * @param inOverFee the input reserve divided by the fee modifier
+     * @param sqrtReserves the square root of both reserves divided by the fee modifier
+     * @param threshold the square root of the initial marginal price
+     */
+    private record SplitPool(Pool pool, BigDecimal inOverFee, BigDecimal sqrtReserves, BigDecimal threshold) {
+        static SplitPool of(Pool pool, String assetIn, MathContext mc){
+            var reserveIn = TokenUtil.equals(assetIn, pool.getAssetA()) ? pool.getReserveA() : pool.getReserveB();
+            var reserveOut = TokenUtil.equals(assetIn, pool.getAssetA()) ? pool.getReserveB() : pool.getReserveA();
+            var feeModifier = pool.poolFeeModifier();
+            if(!BigIntegerUtil.isPositive(reserveIn) || !BigIntegerUtil.isPositive(reserveOut) || !BigIntegerUtil.isPositive(feeModifier)){
+                return null;
+            }
+            var fee = new BigDecimal(feeModifier).divide(new BigDecimal(Pool.POOL_FEE_MULTIPLIER), mc);
+            var inOverFee = new BigDecimal(reserveIn).divide(fee, mc);
+            var sqrtReserves = new BigDecimal(reserveIn.multiply(reserveOut)).divide(fee, mc).sqrt(mc);
+            return new SplitPool(pool, inOverFee, sqrtReserves, inOverFee.divide(sqrtReserves, mc));
+        }
+    }
+
     @Value
     public static class AmountInPerPool {
         private final String poolId;
@@ -0,0 +1,46 @@
+package com.bloxbean.cardano.jadex.core.util;
+
+import java.time.Duration;
+
+/**
+ * Thread-safe rate limiter spacing permits evenly, e.g. to stay within the request limit of a backend.
+ * Unused permits are not saved up, so there are no bursts after an idle period.
+ *
+ * @author $stik
+ */
+public class RateLimiter {
+    private final long intervalNanos;
+    private long nextPermitNanos = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond the maximum number of permits per second
+     */
+    public RateLimiter(double permitsPerSecond) {
+        if(permitsPerSecond <= 0){
+            throw new IllegalArgumentException("Permits per second must be positive, got [" + permitsPerSecond + "]");
+        }
+        this.intervalNanos = (long) (Duration.ofSeconds(1).toNanos() / permitsPerSecond);
+    }
+
+    /**
+     * Block until the next permit is available
+     */
+    public void acquire(){
+        long waitNanos;
+        synchronized (this){
+            var now = System.nanoTime();
+            var permitAt = Math.max(now, nextPermitNanos);
+            nextPermitNanos = permitAt + intervalNanos;
+            waitNanos = permitAt - now;
+        }
+        if(waitNanos <= 0){
+            return;
+        }
+        try{
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a permit", e);
+        }
+    }
+}